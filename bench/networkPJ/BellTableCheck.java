@@ -0,0 +1,95 @@
+package networkPJ;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ 종치기 판정 테이블 검증 도구
+ 모든 판 상태(좌석마다 카드 번호 또는 빈 자리)에 대해 BellTable 조회 결과가
+ 기존 서버의 판정 규칙을 그대로 옮긴 기준 구현과 같은지 확인 (하나라도 다르면 종료 코드 1)
+
+ 사용법: java -cp <classes> networkPJ.BellTableCheck
+*/
+public class BellTableCheck {
+    private static final int STATES = CardCatalog.SIZE + 1;
+
+    public static void main(String[] args) {
+        int[] board = new int[4];
+        int states = 0;
+        int mismatches = 0;
+        for (board[0] = 0; board[0] < STATES; board[0]++) {
+            for (board[1] = 0; board[1] < STATES; board[1]++) {
+                for (board[2] = 0; board[2] < STATES; board[2]++) {
+                    for (board[3] = 0; board[3] < STATES; board[3]++) {
+                        states++;
+                        int expected = evaluate(board);
+                        int actual = BellTable.lookup(board);
+                        if (expected != actual) {
+                            if (mismatches++ < 10) {
+                                System.err.println("불일치: " + Arrays.toString(board)
+                                        + " 기대값=" + expected + " 테이블=" + actual);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        if (mismatches > 0) {
+            System.err.println("검증 실패: " + mismatches + "개 상태 불일치");
+            System.exit(1);
+        }
+        System.out.println("검증 완료: " + states + "개 상태 모두 일치");
+    }
+
+    // 기존 서버의 종치기 판정 규칙을 그대로 옮긴 기준 구현
+    static int evaluate(int[] board) {
+        boolean hasPlusCard = false;
+        boolean hasMinusCard = false;
+        for (int cardId : board) {
+            if (cardId == BellTable.EMPTY) {
+                continue;
+            }
+            CardCatalog.Card card = CardCatalog.get(cardId);
+            if (card.kind == CardCatalog.PLUS) {
+                hasPlusCard = true;
+            } else if (card.kind == CardCatalog.MINUS) {
+                hasMinusCard = true;
+            }
+        }
+
+        // 특수 카드 조합에 따른 판정 (plus와 minus가 함께 있으면 plus 우선)
+        if (hasPlusCard) {
+            return BellTable.PLUS_CARD;
+        }
+        if (hasMinusCard) {
+            return BellTable.MINUS_CARD;
+        }
+
+        // 일반 카드들을 과일별로 그룹화
+        Map<Integer, List<CardCatalog.Card>> fruitGroups = new HashMap<>();
+        for (int cardId : board) {
+            if (cardId != BellTable.EMPTY) {
+                CardCatalog.Card card = CardCatalog.get(cardId);
+                fruitGroups.computeIfAbsent(card.fruit, k -> new ArrayList<>()).add(card);
+            }
+        }
+
+        // 과일별 합이 정확히 5인 경우
+        for (List<CardCatalog.Card> samefruitCards : fruitGroups.values()) {
+            if (samefruitCards.stream().mapToInt(card -> card.value).sum() == 5) {
+                return BellTable.SUM_FIVE;
+            }
+        }
+
+        // 과일별 합이 5를 초과하는 경우
+        for (List<CardCatalog.Card> samefruitCards : fruitGroups.values()) {
+            if (samefruitCards.stream().mapToInt(card -> card.value).sum() > 5) {
+                return BellTable.SUM_OVER_FIVE;
+            }
+        }
+        return BellTable.SUM_UNDER_FIVE;
+    }
+}
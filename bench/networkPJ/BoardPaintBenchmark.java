@@ -0,0 +1,107 @@
+package networkPJ;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Graphics2D;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+/*
+ 게임판 그리기 시간 비교 (창 없이 화면 밖 이미지에 그림, -Djava.awt.headless=true로 실행 가능)
+ labels: 기존처럼 JLabel 9개를 GridBagLayout으로 배치한 패널을 카드 하나가 바뀔 때 레이블 전체 다시 그리기
+ board: GameBoard 전체 프레임, 카드 하나가 바뀐 영역만 그린 프레임
+
+ 사용법: java -cp <classes>:<src> networkPJ.BoardPaintBenchmark [프레임 수]
+*/
+public class BoardPaintBenchmark {
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        JPanel labels = labelPanel();
+        GameBoard board = new GameBoard();
+        board.setSize(board.getPreferredSize());
+        for (int seat = 0; seat < GameRoom.SEATS; seat++) {
+            board.showCard(seat, seat);
+        }
+        Dimension size = board.getPreferredSize();
+        BufferedImage screen = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB);
+        JLabel changed = (JLabel) ((Container) labels.getComponent(0)).getComponent(0);
+        Rectangle changedBounds = changed.getBounds();
+        changedBounds.translate(changed.getParent().getX(), changed.getParent().getY());
+
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("프레임 %d개%n", frames);
+            System.out.printf("  레이블 패널, 바뀐 레이블만: %.4f ms/프레임%n",
+                    time(frames, screen, labels, changedBounds, i -> changed.setIcon(CardImages.card(i % CardCatalog.SIZE))));
+            System.out.printf("  레이블 패널, 전체:           %.4f ms/프레임%n",
+                    time(frames, screen, labels, null, i -> changed.setIcon(CardImages.card(i % CardCatalog.SIZE))));
+            System.out.printf("  GameBoard, 바뀐 영역만:      %.4f ms/프레임%n",
+                    time(frames, screen, board, changedBounds, i -> board.showCard(0, i % CardCatalog.SIZE)));
+            System.out.printf("  GameBoard, 전체:             %.4f ms/프레임%n",
+                    time(frames, screen, board, null, i -> board.showCard(0, i % CardCatalog.SIZE)));
+        }
+        System.out.println(board.paintStats());
+    }
+
+    interface Change {
+        void apply(int frame);
+    }
+
+    // 프레임마다 상태를 바꾸고 clip 영역(null이면 전체)을 다시 그리는 평균 시간
+    private static double time(int frames, BufferedImage screen, JComponent component, Rectangle clip, Change change) {
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            change.apply(i);
+            Graphics2D g = screen.createGraphics();
+            if (clip != null) {
+                g.setClip(clip);
+            }
+            component.paint(g);
+            g.dispose();
+        }
+        return (System.nanoTime() - start) / 1e6 / frames;
+    }
+
+    // 기존 CardGameGUI 게임판 구성
+    private static JPanel labelPanel() {
+        JPanel main = new JPanel(new GridBagLayout());
+        main.setBackground(Color.BLACK);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        int[][] cells = {{0, 0}, {2, 0}, {0, 2}, {2, 2}};
+        for (int seat = 0; seat < cells.length; seat++) {
+            JPanel section = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+            section.setBackground(Color.BLACK);
+            section.add(new JLabel(CardImages.card(seat)));
+            section.add(new JLabel(CardImages.back()));
+            gbc.gridx = cells[seat][0];
+            gbc.gridy = cells[seat][1];
+            main.add(section, gbc);
+        }
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        main.add(new JLabel(CardImages.bell(0)), gbc);
+        main.setSize(main.getPreferredSize());
+        layout(main);
+        return main;
+    }
+
+    // 창이 없으므로 배치를 직접 계산
+    private static void layout(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layout((Container) child);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ 화면 없는 봇 클라이언트
+ NetworkCardGameClient와 같은 프로토콜로 동작 (LOGIN -> 자기 차례의 SNAPSHOT/TURN_UPDATE에 FLIP_CARD -> 정책에 따라 RING_BELL)
+ 스레드를 갖지 않고 LoadGenerator의 Selector 스레드가 여러 봇을 함께 구동
+ 게임이 끝나면(GAME_OVER) 실제 클라이언트처럼 연결을 끊고 다시 접속해 새 게임에 참가
+*/
+final class BotClient {
+    // 종치기 정책
+    static final int RING_NEVER = 0;   // 종을 치지 않음 (카드 뒤집기만)
+    static final int RING_SMART = 1;   // 판을 추적해 +1 판정일 때만 종을 침
+    static final int RING_ALWAYS = 2;  // 카드가 뒤집힐 때마다 종을 침 (감점 포함)
+
+    // 봇 동작 설정 (모든 봇이 공유)
+    static final class Settings {
+        final InetSocketAddress server;
+        final int ringPolicy;
+        final long flipDelayNanos;   // 차례가 온 뒤 카드를 뒤집기까지의 시간
+        final long ringDelayNanos;   // 카드를 본 뒤 종을 치기까지의 기본 반응 시간 (0~50% 무작위 추가)
+
+        Settings(InetSocketAddress server, int ringPolicy, long flipDelayMillis, long ringDelayMillis) {
+            this.server = server;
+            this.ringPolicy = ringPolicy;
+            this.flipDelayNanos = flipDelayMillis * 1_000_000L;
+            this.ringDelayNanos = ringDelayMillis * 1_000_000L;
+        }
+    }
+
+    private final String clientId;
+    private final Settings settings;
+    private final LoadGenerator.Recorder recorder;
+    private final SplittableRandom random;
+
+    private SocketChannel channel;
+    private SelectionKey key;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(GameProtocol.MAX_FRAME_SIZE * 2);
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(256); // 보내지 못한 바이트 (쓰기 모드)
+
+    private String position;
+    private final int[] board = new int[GameRoom.SEATS];
+    private long flipDueAt;    // 카드를 뒤집을 시각 (0이면 없음)
+    private long ringDueAt;    // 종을 칠 시각 (0이면 없음)
+    private long flipSentAt;   // 마지막 카드 뒤집기 요청 시각 (0이면 응답 수신 완료)
+    private boolean reconnect; // 게임 종료 후 재접속 필요
+
+    BotClient(String clientId, Settings settings, LoadGenerator.Recorder recorder, long seed) {
+        this.clientId = clientId;
+        this.settings = settings;
+        this.recorder = recorder;
+        this.random = new SplittableRandom(seed);
+    }
+
+    // 논블로킹 접속 시작
+    void connect(Selector selector) throws IOException {
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+        position = null;
+        Arrays.fill(board, BellTable.EMPTY);
+        flipDueAt = 0;
+        ringDueAt = 0;
+        flipSentAt = 0;
+        readBuffer.clear();
+        writeBuffer.clear();
+        if (channel.connect(settings.server)) {
+            key = channel.register(selector, SelectionKey.OP_READ, this);
+            onConnected();
+        } else {
+            key = channel.register(selector, SelectionKey.OP_CONNECT, this);
+        }
+    }
+
+    // Selector가 알린 이벤트 처리
+    void onSelected(long now) throws IOException {
+        if (key.isConnectable()) {
+            channel.finishConnect();
+            key.interestOps(SelectionKey.OP_READ);
+            onConnected();
+            return;
+        }
+        if (key.isWritable()) {
+            flush();
+        }
+        if (key.isReadable()) {
+            if (channel.read(readBuffer) < 0) {
+                throw new IOException("서버가 연결을 닫았습니다.");
+            }
+            readBuffer.flip();
+            GameMessage message;
+            while ((message = GameProtocol.decode(readBuffer)) != null) {
+                recorder.received++;
+                onMessage(message, now);
+            }
+            readBuffer.compact();
+        }
+    }
+
+    private void onConnected() throws IOException {
+        recorder.connects++;
+        send(new GameMessage(GameMessage.LOGIN, clientId, null));
+    }
+
+    private void onMessage(GameMessage message, long now) {
+        switch (message.getType()) {
+            case GameMessage.SNAPSHOT:
+                position = message.getPosition();
+                GameSnapshot snapshot = message.getSnapshot();
+                for (int i = 0; i < GameRoom.SEATS; i++) {
+                    board[i] = snapshot.cardAt(i) >= 0 ? snapshot.cardAt(i) : BellTable.EMPTY;
+                }
+                if (position.equals(GameProtocol.positionOf(snapshot.getTurn())) && flipDueAt == 0 && flipSentAt == 0) {
+                    flipDueAt = now + settings.flipDelayNanos;
+                }
+                break;
+
+            case GameMessage.TURN_UPDATE:
+                if (position != null && position.equals(message.getPosition()) && flipDueAt == 0 && flipSentAt == 0) {
+                    flipDueAt = now + settings.flipDelayNanos;
+                }
+                break;
+
+            case GameMessage.FLIP_CARD:
+                int seat = GameProtocol.seatOf(message.getPosition());
+                if (seat < GameRoom.SEATS) {
+                    board[seat] = message.getCardId();
+                }
+                if (position != null && position.equals(message.getPosition()) && flipSentAt != 0) {
+                    recorder.recordLatency(now - flipSentAt);
+                    flipSentAt = 0;
+                }
+                scheduleRing(now);
+                break;
+
+            case GameMessage.RING_BELL:
+                // 누군가 맞는 종을 쳐 판이 비워짐
+                Arrays.fill(board, BellTable.EMPTY);
+                ringDueAt = 0;
+                break;
+
+            case GameMessage.TOO_LATE:
+                recorder.tooLate++;
+                break;
+
+            case GameMessage.GAME_OVER:
+                if (clientId.equals(message.getClientId())) {
+                    recorder.games++;
+                }
+                reconnect = true;
+                break;
+        }
+    }
+
+    // 정책에 따라 종치기 예약
+    private void scheduleRing(long now) {
+        boolean ring;
+        switch (settings.ringPolicy) {
+            case RING_SMART:
+                ring = BellTable.scoreChange(BellTable.lookup(board)) == 1;
+                break;
+            case RING_ALWAYS:
+                ring = true;
+                break;
+            default:
+                ring = false;
+        }
+        if (ring && ringDueAt == 0) {
+            long jitter = settings.ringDelayNanos > 0 ? random.nextLong(settings.ringDelayNanos / 2 + 1) : 0;
+            ringDueAt = now + settings.ringDelayNanos + jitter;
+        } else if (!ring) {
+            ringDueAt = 0;
+        }
+    }
+
+    // 예약된 행동 실행 (Selector 스레드가 주기적으로 호출)
+    void tick(long now, Selector selector) throws IOException {
+        if (reconnect) {
+            reconnect = false;
+            close();
+            connect(selector);
+            return;
+        }
+        if (flipDueAt != 0 && now >= flipDueAt) {
+            flipDueAt = 0;
+            flipSentAt = now;
+            send(new GameMessage(GameMessage.FLIP_CARD, null, null));
+        }
+        if (ringDueAt != 0 && now >= ringDueAt) {
+            ringDueAt = 0;
+            recorder.rings++;
+            send(new GameMessage(GameMessage.RING_BELL, null, null));
+        }
+    }
+
+    // 프레임을 쓰기 버퍼에 넣고 가능한 만큼 전송
+    private void send(GameMessage message) throws IOException {
+        byte[] frame = GameProtocol.encode(message);
+        if (writeBuffer.remaining() < frame.length) {
+            writeBuffer = ByteBuffer.allocate(writeBuffer.capacity() * 2 + frame.length).put(writeBuffer.flip());
+        }
+        writeBuffer.put(frame);
+        recorder.sent++;
+        flush();
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        channel.write(writeBuffer);
+        writeBuffer.compact();
+        key.interestOps(writeBuffer.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    void close() {
+        try {
+            if (key != null) {
+                key.cancel();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // 닫는 중 오류는 무시
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package networkPJ;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/*
+ 서버 네트워크 방식별 연결 부하 테스트
+ 서버를 별도 JVM 프로세스로 띄우고 대기 연결 N개와 활성 게임방 R개를 연결한 뒤
+ 서버 프로세스의 연결당 메모리(RSS)와 카드 뒤집기 -> 브로드캐스트 수신 지연의 백분위를 측정
+ 클라이언트 쪽은 Selector 스레드 하나로 모든 연결을 처리하여 측정값에 스레드 비용이 섞이지 않게 함
+ (프로세스를 나누어 파일 디스크립터 한도를 서버와 클라이언트가 따로 사용)
+
+ 사용법: java -cp <classes> networkPJ.ConnectionLoadTest <thread|virtual|nio> [대기 연결 수] [활성 방 수] [측정 초] [뒤집기 간격 ms]
+ (virtual 방식은 Java 21 이상에서 실행)
+*/
+public class ConnectionLoadTest {
+    private static final int PORT = 56000;
+
+    // 활성 게임방의 클라이언트 한 명
+    static final class ActiveClient {
+        final SocketChannel channel;
+        final ByteBuffer readBuffer = ByteBuffer.allocate(GameProtocol.MAX_FRAME_SIZE * 2);
+        String position;
+        long flipDueAt;   // 다음 카드 뒤집기 예정 시각 (0이면 없음)
+        long flipSentAt;  // 마지막 카드 뒤집기 전송 시각
+
+        ActiveClient(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 1 && args[0].equals("server")) {
+            runServer(args[1]);
+            return;
+        }
+        String mode = args.length > 0 ? args[0] : "thread";
+        int idleConnections = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int activeRooms = args.length > 2 ? Integer.parseInt(args[2]) : 250;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        long flipIntervalNanos = (args.length > 4 ? Long.parseLong(args[4]) : 100) * 1_000_000L;
+
+        Process server = startServerProcess(mode);
+        long pid = server.pid();
+
+        // 1. 대기 연결: 로그인만 하고 아무것도 하지 않음
+        long rssBefore = readStatus(pid, "VmRSS:");
+        long threadsBefore = readStatus(pid, "Threads:");
+        List<SocketChannel> idle = new ArrayList<>();
+        for (int i = 0; i < idleConnections; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", PORT));
+            send(channel, new GameMessage(GameMessage.LOGIN, "idle" + i, null));
+            idle.add(channel);
+        }
+        Thread.sleep(5000);
+        long rssIdle = readStatus(pid, "VmRSS:");
+        long threadsIdle = readStatus(pid, "Threads:");
+
+        System.out.printf("방식: %s%n", mode);
+        System.out.printf("대기 연결 %d개: 서버 RSS +%.1f MB (연결당 %.1f KB), OS 스레드 %d -> %d%n",
+                idleConnections,
+                (rssIdle - rssBefore) / 1024.0, (rssIdle - rssBefore) / (double) Math.max(1, idleConnections),
+                threadsBefore, threadsIdle);
+
+        // 2. 활성 게임방: 차례가 오면 간격을 두고 카드를 뒤집고 자신의 뒤집기 브로드캐스트 수신까지의 지연 측정
+        Selector selector = Selector.open();
+        List<ActiveClient> active = new ArrayList<>();
+        for (int i = 0; i < activeRooms * GameRoom.SEATS; i++) {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", PORT));
+            send(channel, new GameMessage(GameMessage.LOGIN, "active" + i, null));
+            channel.configureBlocking(false);
+            ActiveClient client = new ActiveClient(channel);
+            channel.register(selector, SelectionKey.OP_READ, client);
+            active.add(client);
+        }
+
+        long[] latencies = new long[1 << 16];
+        int count = 0;
+        long warmupEnd = System.nanoTime() + 3_000_000_000L;
+        long end = warmupEnd + seconds * 1_000_000_000L;
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= end) {
+                break;
+            }
+            selector.select(1);
+            Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+            while (it.hasNext()) {
+                SelectionKey key = it.next();
+                it.remove();
+                ActiveClient client = (ActiveClient) key.attachment();
+                if (client.channel.read(client.readBuffer) < 0) {
+                    key.cancel();
+                    continue;
+                }
+                client.readBuffer.flip();
+                GameMessage message;
+                while ((message = GameProtocol.decode(client.readBuffer)) != null) {
+                    long received = System.nanoTime();
+                    switch (message.getType()) {
+                        case GameMessage.SNAPSHOT:
+                            client.position = message.getPosition();
+                            if (GameProtocol.seatOf(client.position) == message.getSnapshot().getTurn() && client.flipDueAt == 0) {
+                                client.flipDueAt = received + flipIntervalNanos;
+                            }
+                            break;
+                        case GameMessage.TURN_UPDATE:
+                            if (message.getPosition().equals(client.position) && client.flipDueAt == 0) {
+                                client.flipDueAt = received + flipIntervalNanos;
+                            }
+                            break;
+                        case GameMessage.FLIP_CARD:
+                            if (message.getPosition().equals(client.position) && client.flipSentAt != 0) {
+                                if (received >= warmupEnd) {
+                                    if (count == latencies.length) {
+                                        latencies = Arrays.copyOf(latencies, count * 2);
+                                    }
+                                    latencies[count++] = received - client.flipSentAt;
+                                }
+                                client.flipSentAt = 0;
+                            }
+                            break;
+                    }
+                }
+                client.readBuffer.compact();
+            }
+
+            now = System.nanoTime();
+            for (ActiveClient client : active) {
+                if (client.flipDueAt != 0 && now >= client.flipDueAt) {
+                    client.flipDueAt = 0;
+                    client.flipSentAt = now;
+                    send(client.channel, new GameMessage(GameMessage.FLIP_CARD, null, null));
+                }
+            }
+        }
+
+        Arrays.sort(latencies, 0, count);
+        System.out.printf("활성 방 %d개 (%d 연결), %d초: 뒤집기 %d회 (%.0f/초)%n",
+                activeRooms, active.size(), seconds, count, count / (double) seconds);
+        if (count > 0) {
+            System.out.printf("뒤집기 -> 브로드캐스트 지연: p50 %.2f ms, p99 %.2f ms, 최대 %.2f ms%n",
+                    latencies[count / 2] / 1e6, latencies[(int) (count * 0.99)] / 1e6, latencies[count - 1] / 1e6);
+        }
+
+        for (SocketChannel channel : idle) {
+            channel.close();
+        }
+        for (ActiveClient client : active) {
+            client.channel.close();
+        }
+        server.destroy();
+        server.waitFor();
+        System.exit(0);
+    }
+
+    // 서버 프로세스 본체: 지정한 방식으로 수신 대기 후 표준 입력이 닫힐 때까지 유지
+    private static void runServer(String mode) throws Exception {
+        GameLobby lobby = new GameLobby(msg -> { }, 0, GameLobby.newRoomPool(Runtime.getRuntime().availableProcessors()), 7);
+        ServerLog log = msg -> { };
+        ServerTransport transport;
+        if (mode.equals("nio")) {
+            transport = new NioTransport(lobby, log, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        } else {
+            transport = new ThreadPerClientTransport(lobby, log, mode.equals("virtual"));
+        }
+        transport.start(PORT);
+        System.out.println("READY");
+        System.out.flush();
+        while (System.in.read() >= 0) {
+            // 부모 프로세스가 끝날 때까지 대기
+        }
+        System.exit(0);
+    }
+
+    // 같은 JVM과 클래스패스로 서버 프로세스 실행 후 준비될 때까지 대기
+    private static Process startServerProcess(String mode) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx1g", "-cp", System.getProperty("java.class.path"),
+                ConnectionLoadTest.class.getName(), "server", mode)
+                .redirectErrorStream(true)
+                .start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        String line;
+        while ((line = reader.readLine()) != null && !line.equals("READY")) {
+            System.out.println("[서버] " + line);
+        }
+        if (line == null) {
+            throw new IOException("서버 프로세스가 시작되지 않았습니다.");
+        }
+        return process;
+    }
+
+    // 프레임 하나를 끝까지 전송
+    private static void send(SocketChannel channel, GameMessage message) throws IOException {
+        ByteBuffer frame = ByteBuffer.wrap(GameProtocol.encode(message));
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    // 프로세스 상태 항목 값 (VmRSS는 KB, 리눅스 전용)
+    private static long readStatus(long pid, String field) throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc/" + pid + "/status"))) {
+            if (line.startsWith(field)) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,118 @@
+package networkPJ;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+
+/*
+ 연결 하나로 메시지를 오래 주고받을 때 메모리가 늘지 않는지 확인하는 장시간 테스트
+ 같은 JVM에서 서버(지정한 네트워크 방식)를 띄우고 클라이언트 연결 하나가 NetworkCardGameClient와 같은 방식
+ (DataOutputStream/DataInputStream 위의 GameProtocol 프레임)으로 종을 치고 응답(SCORE_UPDATE, TURN_UPDATE)을 받음
+ (빈 판에 친 종은 감점 처리되어 점수 0에서 바뀌지 않으므로 게임이 끝나지 않음)
+ 구간마다 GC 후 남은 힙 크기를 재고, 첫 구간 이후 늘어난 양이 허용치를 넘으면 실패(종료 코드 1)
+
+ 사용법: java -cp <classes> networkPJ.ConnectionSoakTest [thread|virtual|nio] [메시지 수] [허용 증가량 KB]
+ (메시지 수 = 클라이언트가 보내고 받은 메시지 합계, 기본값: 1000000, 허용 증가량 기본값: 1024)
+*/
+public class ConnectionSoakTest {
+    private static final int CHECKPOINTS = 10;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "nio";
+        long messages = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+        long allowedBytes = (args.length > 2 ? Long.parseLong(args[2]) : 1024) * 1024;
+
+        ExecutorService roomPool = GameLobby.newRoomPool(1);
+        GameLobby lobby = new GameLobby(msg -> { }, 0, roomPool, 1);
+        ServerTransport transport = mode.equals("nio")
+                ? new NioTransport(lobby, msg -> { }, 1)
+                : new ThreadPerClientTransport(lobby, msg -> { }, mode.equals("virtual"));
+        int port = freePort();
+        transport.start(new InetSocketAddress("127.0.0.1", port));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long[] retained = new long[CHECKPOINTS + 1];
+        long exchanged = 0;
+        long start = System.nanoTime();
+
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            GameProtocol.writeMessage(out, new GameMessage(GameMessage.LOGIN, "soak", null));
+            out.flush();
+            exchanged += 1 + awaitType(in, GameMessage.SNAPSHOT);
+
+            GameMessage ring = new GameMessage(GameMessage.RING_BELL, "soak", null);
+            long perCheckpoint = messages / CHECKPOINTS;
+            for (int checkpoint = 0; checkpoint <= CHECKPOINTS; checkpoint++) {
+                long target = perCheckpoint * checkpoint;
+                while (exchanged < target) {
+                    // 응답을 모두 받은 뒤 다음 종을 쳐서 송신 큐의 병합 없이 메시지 수를 정확히 셈
+                    GameProtocol.writeMessage(out, ring);
+                    out.flush();
+                    exchanged += 1 + awaitType(in, GameMessage.TURN_UPDATE);
+                }
+                retained[checkpoint] = retainedHeap(memory);
+                System.out.printf("메시지 %,d개: GC 후 힙 %,d KB%n", exchanged, retained[checkpoint] / 1024);
+            }
+        } finally {
+            transport.stop();
+            roomPool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        // 첫 구간은 클래스 로딩과 JIT, 버퍼 풀 준비가 섞이므로 기준에서 제외
+        long baseline = retained[1];
+        long growth = Long.MIN_VALUE;
+        for (int checkpoint = 2; checkpoint <= CHECKPOINTS; checkpoint++) {
+            growth = Math.max(growth, retained[checkpoint] - baseline);
+        }
+        System.out.printf("방식 %s: 메시지 %,d개, %.1f초 (%,.0f 메시지/초)%n", mode, exchanged, seconds, exchanged / seconds);
+        System.out.printf("기준(%,d개) 대비 최대 힙 증가 %+,d KB (허용 %,d KB)%n",
+                messages / CHECKPOINTS, growth / 1024, allowedBytes / 1024);
+        if (growth > allowedBytes) {
+            System.out.println("실패: 연결을 오래 유지할수록 힙이 늘어납니다.");
+            System.exit(1);
+        }
+        System.out.println("통과: 힙이 일정하게 유지됩니다.");
+    }
+
+    // 원하는 종류의 메시지가 올 때까지 읽고 받은 메시지 수 반환
+    private static int awaitType(DataInputStream in, int type) throws Exception {
+        int count = 0;
+        GameMessage message;
+        do {
+            message = GameProtocol.readMessage(in);
+            count++;
+        } while (message.getType() != type);
+        return count;
+    }
+
+    // GC를 몇 번 돌린 뒤 남은 힙 크기
+    private static long retainedHeap(MemoryMXBean memory) throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    // 비어 있는 임시 포트 번호
+    private static int freePort() throws IOException {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            return probe.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/*
+ 게임 핵심 경로 마이크로벤치마크 모음 (MicroBench 사용)
+ - 프로토콜: GameMessage 프레임 인코딩/디코딩 왕복
+ - 카드 정보: 카드 번호로 카드 정보와 파일 이름 조회
+ - 종치기 판정: 무작위 판에 대한 BellTable 조회와 원래 판정 로직(evaluate, reference) 비교
+ - 브로드캐스트: 메시지 하나를 4/16/64개 송신 큐에 넣고 비우기
+ - 게임방: 카드 뒤집기 한 번의 전체 처리 (메모리 연결 4개)
+
+ 사용법: java -cp <classes> networkPJ.HotPathBenchmarks [이름 정규식] [측정 반복 수] [반복 시간 ms]
+*/
+public class HotPathBenchmarks {
+    private static final int BOARDS = 4096;
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : ".*";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationMillis = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        SplittableRandom random = new SplittableRandom(1);
+        int[] boards = new int[BOARDS * GameRoom.SEATS];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = random.nextInt(BellTable.EMPTY + 1);
+        }
+        int[] cardIds = new int[BOARDS];
+        for (int i = 0; i < cardIds.length; i++) {
+            cardIds[i] = random.nextInt(CardCatalog.SIZE);
+        }
+
+        GameMessage flipRequest = new GameMessage(GameMessage.FLIP_CARD, null, null);
+        GameMessage flipBroadcast = new GameMessage(GameMessage.FLIP_CARD, "player1", "topLeft", 0, 12);
+        GameMessage scoreUpdate = new GameMessage(GameMessage.SCORE_UPDATE, "플레이어1", "bottomRight", 7);
+        ByteBuffer scoreFrame = ByteBuffer.wrap(encode(scoreUpdate));
+
+        MicroBench bench = new MicroBench(3, iterations, iterationMillis);
+
+        byte[][] frames = new byte[64][]; // 인코딩 결과를 힙에 남겨 할당이 제거되지 않게 함
+        bench.add("protocol.encode flipRequest", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                byte[] frame = encode(flipRequest);
+                frames[i & 63] = frame;
+                sum += frame.length;
+            }
+            return sum;
+        });
+        bench.add("protocol.roundTrip flipBroadcast", ops -> roundTrip(flipBroadcast, ops));
+        bench.add("protocol.roundTrip scoreUpdate", ops -> roundTrip(scoreUpdate, ops));
+        bench.add("protocol.decode scoreUpdate", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                scoreFrame.rewind();
+                sum += decode(scoreFrame).getScore();
+            }
+            return sum;
+        });
+
+        bench.add("catalog.get fileName", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += CardCatalog.get(cardIds[i & (BOARDS - 1)]).fileName.length();
+            }
+            return sum;
+        });
+
+        bench.add("bell.lookup randomBoard", ops -> {
+            long sum = 0;
+            int[] board = new int[GameRoom.SEATS];
+            for (int i = 0; i < ops; i++) {
+                System.arraycopy(boards, (i & (BOARDS - 1)) * GameRoom.SEATS, board, 0, GameRoom.SEATS);
+                sum += BellTable.lookup(board);
+            }
+            return sum;
+        });
+        bench.add("bell.evaluate randomBoard (reference)", ops -> {
+            long sum = 0;
+            int[] board = new int[GameRoom.SEATS];
+            for (int i = 0; i < ops; i++) {
+                System.arraycopy(boards, (i & (BOARDS - 1)) * GameRoom.SEATS, board, 0, GameRoom.SEATS);
+                sum += BellTableCheck.evaluate(board);
+            }
+            return sum;
+        });
+
+        for (int fanOut : new int[] {4, 16, 64}) {
+            OutboundStats stats = new OutboundStats();
+            OutboundQueue[] queues = new OutboundQueue[fanOut];
+            for (int q = 0; q < fanOut; q++) {
+                queues[q] = new OutboundQueue(1024, stats);
+            }
+            bench.add("broadcast fanOut=" + fanOut, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    for (OutboundQueue queue : queues) {
+                        queue.offer(flipBroadcast);
+                    }
+                    for (OutboundQueue queue : queues) {
+                        sum += queue.poll().getCardId();
+                    }
+                }
+                return sum;
+            });
+        }
+
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 1);
+        RoomBenchmark.CountingConnection[] seats = new RoomBenchmark.CountingConnection[GameRoom.SEATS];
+        GameRoom room = null;
+        for (int s = 0; s < GameRoom.SEATS; s++) {
+            seats[s] = new RoomBenchmark.CountingConnection();
+            room = lobby.assign(seats[s]);
+            room.process(seats[s], new GameMessage(GameMessage.LOGIN, "bot" + s, null));
+        }
+        GameRoom flipRoom = room;
+        int[] turn = new int[1];
+        bench.add("room.flip (4 sinks)", ops -> {
+            for (int i = 0; i < ops; i++) {
+                flipRoom.process(seats[turn[0]], flipRequest);
+                turn[0] = (turn[0] + 1) % GameRoom.SEATS;
+            }
+            return seats[0].received;
+        });
+
+        bench.run(filter);
+    }
+
+    private static long roundTrip(GameMessage message, int ops) {
+        long sum = 0;
+        for (int i = 0; i < ops; i++) {
+            sum += decode(ByteBuffer.wrap(encode(message))).getCardId();
+        }
+        return sum;
+    }
+
+    private static byte[] encode(GameMessage message) {
+        try {
+            return GameProtocol.encode(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static GameMessage decode(ByteBuffer frame) {
+        try {
+            return GameProtocol.decode(frame);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/*
+ 게임 이벤트 저널 쓰기 성능 측정
+ 1. 최대 속도: 방 실행기 역할의 스레드들이 방마다 카드 뒤집기 기록을 쉬지 않고 씀 (그룹 커밋)
+ 2. 일정 속도: 초당 목표 기록 수로 나누어 쓰면서 기록 한 건의 쓰기 시간 분포를 잼
+    (동기화 스레드가 force하는 동안에도 쓰기가 막히지 않는지 확인)
+ 3. 비교: 그룹 커밋 없이 기록마다 force
+ 끝나면 세그먼트 파일을 다시 읽어 쓴 기록 수와 읽힌 기록 수가 같은지 확인
+
+ 사용법: java -cp <classes> networkPJ.JournalBenchmark [폴더] [방 수] [스레드 수] [초] [초당 목표 기록 수] [세그먼트 MB] [동기화 ms]
+ (기본값: /tmp/journal-bench 64 1 5 200000 16 20)
+*/
+public class JournalBenchmark {
+    public static void main(String[] args) throws Exception {
+        Path base = Paths.get(args.length > 0 ? args[0] : "/tmp/journal-bench");
+        int rooms = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int targetRate = args.length > 4 ? Integer.parseInt(args[4]) : 200_000;
+        int segmentBytes = (args.length > 5 ? Integer.parseInt(args[5]) : 16) * 1024 * 1024;
+        int syncMillis = args.length > 6 ? Integer.parseInt(args[6]) : 20;
+
+        System.out.printf("방 %d개, 스레드 %d개, 세그먼트 %d MB, 동기화 %d ms%n",
+                rooms, threads, segmentBytes >> 20, syncMillis);
+
+        // 1. 최대 속도
+        GameJournal journal = GameJournal.open(base, segmentBytes, syncMillis, rooms * 2, System.out::println);
+        long written = run(journal, rooms, threads, seconds, 0, null);
+        journal.close();
+        System.out.printf("최대 속도: %,d 기록/초 (%.1f MB/초), %s%n", written / seconds,
+                written * (double) GameJournal.RECORD_SIZE / seconds / (1 << 20), journal);
+        verify(journal.getDirectory(), written);
+
+        // 2. 일정 속도
+        journal = GameJournal.open(base, segmentBytes, syncMillis, rooms * 2, System.out::println);
+        long[] latencies = new long[(int) Math.min(Integer.MAX_VALUE - 8, (long) targetRate * seconds + threads)];
+        written = run(journal, rooms, threads, seconds, targetRate, latencies);
+        journal.close();
+        System.out.printf("일정 속도 목표 %,d 기록/초: 실제 %,d 기록/초, %s%n", targetRate, written / seconds, journal);
+        printLatencies(latencies, (int) Math.min(written, latencies.length));
+        verify(journal.getDirectory(), written);
+
+        // 3. 기록마다 force
+        forceEachRecord(base.resolve("force-each.hgj"), segmentBytes, seconds);
+    }
+
+    /*
+     방을 스레드들에 나누어 seconds초 동안 기록 (방 하나는 항상 같은 스레드가 씀)
+     rate가 0이면 쉬지 않고, 아니면 스레드마다 rate/threads 속도로 나누어 쓰고 기록마다 쓰기 시간을 latencies에 저장
+    */
+    private static long run(GameJournal journal, int rooms, int threads, int seconds, int rate, long[] latencies)
+            throws InterruptedException {
+        RoomJournal[] roomJournals = new RoomJournal[rooms];
+        for (int i = 0; i < rooms; i++) {
+            roomJournals[i] = journal.room(i + 1, i);
+        }
+        Thread.sleep(100); // 동기화 스레드가 첫 세그먼트를 만들어 둘 시간 (서버에서는 로그인을 기다리는 동안)
+        long[] counts = new long[threads];
+        int[] latencyCount = new int[1];
+        Thread[] workers = new Thread[threads];
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                long count = 0;
+                long interval = rate > 0 ? 1_000_000_000L * threads / rate : 0;
+                long next = System.nanoTime();
+                for (int i = id; ; i += threads) {
+                    if (i >= rooms) {
+                        i = id;
+                    }
+                    long now = System.nanoTime();
+                    if (now >= end) {
+                        break;
+                    }
+                    if (interval > 0) {
+                        if (now < next) {
+                            i -= threads;
+                            LockSupport.parkNanos(next - now); // 늦게 깨어나면 밀린 만큼 이어서 씀
+                            continue;
+                        }
+                        next += interval;
+                    }
+                    long start = latencies != null ? System.nanoTime() : 0;
+                    roomJournals[i].record(GameJournal.FLIP, (int) (count & 3), count / 16, (int) (count % CardCatalog.SIZE), 0);
+                    if (latencies != null) {
+                        long elapsed = System.nanoTime() - start;
+                        synchronized (latencyCount) {
+                            if (latencyCount[0] < latencies.length) {
+                                latencies[latencyCount[0]++] = elapsed;
+                            }
+                        }
+                    }
+                    count++;
+                }
+                counts[id] = count;
+            }, "room-writer-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (RoomJournal room : roomJournals) {
+            room.close();
+        }
+        return Arrays.stream(counts).sum();
+    }
+
+    private static void printLatencies(long[] latencies, int count) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("  기록 한 건 쓰기 시간: p50 %.2f us, p99 %.2f us, p99.9 %.2f us, p99.99 %.2f us, 최대 %.1f us%n",
+                percentile(sorted, 0.50) / 1e3, percentile(sorted, 0.99) / 1e3, percentile(sorted, 0.999) / 1e3,
+                percentile(sorted, 0.9999) / 1e3, sorted[sorted.length - 1] / 1e3);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+    }
+
+    // 세그먼트 파일을 처음부터 읽어 완성된 기록 수를 세고 쓴 수와 비교
+    private static void verify(Path dir, long expected) throws IOException {
+        long records = 0;
+        int files = 0;
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+                if (buffer.getInt(0) != GameJournal.MAGIC) {
+                    throw new IOException("저널 파일이 아닙니다: " + path);
+                }
+                files++;
+                int at = buffer.getShort(6);
+                int length;
+                while (at + 2 <= buffer.limit() && (length = buffer.getShort(at) & 0xFFFF) != 0) {
+                    records++;
+                    at += length;
+                }
+            }
+        }
+        System.out.printf("  확인: 파일 %d개에서 기록 %,d건 읽음 (쓴 기록 %,d건) %s%n",
+                files, records, expected, records == expected ? "일치" : "불일치!");
+    }
+
+    // 그룹 커밋 없이 기록 하나를 쓸 때마다 force
+    private static void forceEachRecord(Path file, int segmentBytes, int seconds) throws IOException {
+        Files.deleteIfExists(file);
+        long count = 0;
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            int at = 0;
+            while (System.nanoTime() < end) {
+                if (at + GameJournal.RECORD_SIZE > buffer.capacity()) {
+                    at = 0;
+                }
+                buffer.putShort(at, (short) GameJournal.RECORD_SIZE);
+                buffer.put(at + 2, (byte) GameJournal.FLIP);
+                buffer.putLong(at + 4, System.currentTimeMillis());
+                buffer.putLong(at + 12, count);
+                buffer.force();
+                at += GameJournal.RECORD_SIZE;
+                count++;
+            }
+        }
+        Files.deleteIfExists(file);
+        System.out.printf("비교 (기록마다 force): %,d 기록/초%n", count / seconds);
+    }
+}
@@ -0,0 +1,247 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/*
+ 봇 클라이언트 수천 개로 서버에 부하를 주는 부하 생성기
+ 봇을 여러 Selector 스레드에 나누어 구동하고, 구간마다 처리량을 출력한 뒤
+ 측정 구간 전체의 게임 수/초, 메시지 수/초, 카드 뒤집기 -> 브로드캐스트 수신 지연 백분위를 보고
+ 서버는 별도 프로세스로 실행 (예: HeadlessGameServer)
+
+ 사용법: java -cp <classes> networkPJ.LoadGenerator [키=값 ...]
+   host=localhost port=54321 bots=4000 threads=2 seconds=30 warmup=5
+   ring=smart|never|always flipDelay=50 ringDelay=100 (ms) seed=1
+*/
+public class LoadGenerator {
+    // 구간 진행 상황 출력 간격
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+
+    /*
+     Selector 스레드 하나가 구동하는 봇들의 기록
+     한 스레드에서만 갱신하고, 다른 스레드는 구간 출력용으로 대략적인 값만 읽음
+    */
+    static final class Recorder {
+        volatile boolean measuring;
+        long connects;
+        long sent;
+        long received;
+        long rings;
+        long tooLate;
+        long games;
+        private long[] latencies = new long[1 << 16];
+        private int count;
+
+        void recordLatency(long nanos) {
+            if (!measuring) {
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        // 측정 시작 시 카운터 초기화
+        void reset() {
+            sent = received = rings = tooLate = games = 0;
+            count = 0;
+            measuring = true;
+        }
+    }
+
+    // 봇 여러 개를 구동하는 Selector 스레드
+    static final class BotLoop implements Runnable {
+        final Selector selector;
+        final List<BotClient> bots = new ArrayList<>();
+        final Recorder recorder = new Recorder();
+        volatile boolean running = true;
+        volatile boolean resetRequested;
+        long failures;
+
+        BotLoop() throws IOException {
+            selector = Selector.open();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (BotClient bot : bots) {
+                    bot.connect(selector);
+                }
+                while (running) {
+                    if (resetRequested) {
+                        resetRequested = false;
+                        recorder.reset();
+                    }
+                    selector.select(1);
+                    long now = System.nanoTime();
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        BotClient bot = (BotClient) key.attachment();
+                        try {
+                            if (key.isValid()) {
+                                bot.onSelected(now);
+                            }
+                        } catch (IOException e) {
+                            failed(bot);
+                        }
+                    }
+                    now = System.nanoTime();
+                    for (BotClient bot : bots) {
+                        try {
+                            bot.tick(now, selector);
+                        } catch (IOException e) {
+                            failed(bot);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("봇 스레드 오류: " + e.getMessage());
+            } finally {
+                for (BotClient bot : bots) {
+                    bot.close();
+                }
+            }
+        }
+
+        // 연결 실패나 끊김은 기록 후 재접속
+        private void failed(BotClient bot) {
+            failures++;
+            bot.close();
+            try {
+                bot.connect(selector);
+            } catch (IOException e) {
+                System.err.println("재접속 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 54321;
+        int botCount = 4000;
+        int threads = 2;
+        int seconds = 30;
+        int warmup = 5;
+        int ringPolicy = BotClient.RING_SMART;
+        long flipDelay = 50;
+        long ringDelay = 100;
+        long seed = 1;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = arg.substring(0, Math.max(0, eq));
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "host": host = value; break;
+                case "port": port = Integer.parseInt(value); break;
+                case "bots": botCount = Integer.parseInt(value); break;
+                case "threads": threads = Integer.parseInt(value); break;
+                case "seconds": seconds = Integer.parseInt(value); break;
+                case "warmup": warmup = Integer.parseInt(value); break;
+                case "flipDelay": flipDelay = Long.parseLong(value); break;
+                case "ringDelay": ringDelay = Long.parseLong(value); break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "ring":
+                    ringPolicy = value.equals("never") ? BotClient.RING_NEVER
+                            : value.equals("always") ? BotClient.RING_ALWAYS : BotClient.RING_SMART;
+                    break;
+                default:
+                    System.err.println("알 수 없는 설정: " + arg);
+                    return;
+            }
+        }
+
+        BotClient.Settings settings = new BotClient.Settings(new InetSocketAddress(host, port), ringPolicy, flipDelay, ringDelay);
+        BotLoop[] loops = new BotLoop[threads];
+        for (int t = 0; t < threads; t++) {
+            loops[t] = new BotLoop();
+        }
+        for (int i = 0; i < botCount; i++) {
+            BotLoop loop = loops[i % threads];
+            loop.bots.add(new BotClient("bot" + i, settings, loop.recorder, seed * 1_000_003L + i));
+        }
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(loops[t], "bot-loop-" + t);
+            workers[t].start();
+        }
+        System.out.printf("봇 %d개 (%d 스레드) -> %s:%d, 예열 %d초, 측정 %d초%n", botCount, threads, host, port, warmup, seconds);
+
+        Thread.sleep(warmup * 1000L);
+        for (BotLoop loop : loops) {
+            loop.resetRequested = true;
+        }
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        long lastReceived = 0;
+        long lastAt = start;
+        while (System.nanoTime() < end) {
+            Thread.sleep(100);
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                long received = 0;
+                for (BotLoop loop : loops) {
+                    received += loop.recorder.received;
+                }
+                System.out.printf("  %3.0f초: 수신 %.0f 메시지/초%n", (now - start) / 1e9, (received - lastReceived) / ((now - lastAt) / 1e9));
+                lastReceived = received;
+                lastAt = now;
+                nextReport += REPORT_INTERVAL_NANOS;
+            }
+        }
+        for (BotLoop loop : loops) {
+            loop.running = false;
+            loop.selector.wakeup();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        // 스레드별 기록 합산
+        long sent = 0, received = 0, rings = 0, tooLate = 0, games = 0, failures = 0;
+        int count = 0;
+        for (BotLoop loop : loops) {
+            Recorder r = loop.recorder;
+            sent += r.sent;
+            received += r.received;
+            rings += r.rings;
+            tooLate += r.tooLate;
+            games += r.games;
+            failures += loop.failures;
+            count += r.count;
+        }
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (BotLoop loop : loops) {
+            System.arraycopy(loop.recorder.latencies, 0, latencies, offset, loop.recorder.count);
+            offset += loop.recorder.count;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("게임: %d (%.1f 게임/초)%n", games, games / elapsed);
+        System.out.printf("메시지: 송신 %.0f/초, 수신 %.0f/초%n", sent / elapsed, received / elapsed);
+        System.out.printf("종치기: %d회 (늦음 %d), 연결 오류: %d%n", rings, tooLate, failures);
+        if (count > 0) {
+            System.out.printf("카드 뒤집기 -> 브로드캐스트 지연 (%d회): p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, 최대 %.2f ms%n",
+                    count, percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[count - 1] / 1e6);
+        }
+        System.exit(0);
+    }
+
+    // 정렬된 지연 배열의 백분위 (ms)
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
@@ -0,0 +1,110 @@
+package networkPJ;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/*
+ JMH를 쓸 수 없는 환경(빌드 파일 없음)을 위한 작은 마이크로벤치마크 도구
+ 벤치마크마다 예열 반복 후 측정 반복을 돌려 ns/op의 평균과 표준편차를 출력
+ 각 벤치마크는 결과 값을 돌려주고 그 합을 sink에 보관하여 JIT가 계산을 없애지 못하게 함
+
+ 측정 방법: 반복 하나는 정해진 시간 동안 batch 단위로 run을 호출하고 (batch 크기는 예열 중 자동 조정)
+ 호출 횟수와 경과 시간으로 ns/op를 계산
+*/
+final class MicroBench {
+    // 측정 대상 (ops번 실행하고 계산 결과를 돌려줌)
+    interface Body {
+        long run(int ops);
+    }
+
+    private static final class Entry {
+        final String name;
+        final Body body;
+
+        Entry(String name, Body body) {
+            this.name = name;
+            this.body = body;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final int warmupIterations;
+    private final int iterations;
+    private final long iterationNanos;
+    private long sink;
+
+    MicroBench(int warmupIterations, int iterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    MicroBench add(String name, Body body) {
+        entries.add(new Entry(name, body));
+        return this;
+    }
+
+    // 이름이 filter 정규식과 일치하는 벤치마크만 실행
+    void run(String filter) {
+        Pattern pattern = Pattern.compile(filter);
+        System.out.printf("%-44s %12s %10s %14s%n", "벤치마크", "ns/op", "± (sd)", "ops/s");
+        for (Entry entry : entries) {
+            if (!pattern.matcher(entry.name).find()) {
+                continue;
+            }
+            int batch = 1;
+            for (int i = 0; i < warmupIterations; i++) {
+                batch = calibrate(entry.body, batch);
+            }
+            double[] results = new double[iterations];
+            for (int i = 0; i < iterations; i++) {
+                results[i] = measure(entry.body, batch);
+            }
+            double mean = 0;
+            for (double r : results) {
+                mean += r;
+            }
+            mean /= results.length;
+            double variance = 0;
+            for (double r : results) {
+                variance += (r - mean) * (r - mean);
+            }
+            double sd = results.length > 1 ? Math.sqrt(variance / (results.length - 1)) : 0;
+            System.out.printf("%-44s %12.2f %10.2f %14.0f%n", entry.name, mean, sd, 1e9 / mean);
+        }
+        if (sink == 42) {
+            System.out.println(); // sink를 실제로 사용
+        }
+    }
+
+    // 예열 반복: 실행하면서 batch 하나가 약 1ms가 되도록 조정
+    private int calibrate(Body body, int batch) {
+        long end = System.nanoTime() + iterationNanos;
+        while (true) {
+            long start = System.nanoTime();
+            sink += body.run(batch);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed < 500_000 && batch < (1 << 24)) {
+                batch *= 2;
+            }
+            if (start + elapsed >= end) {
+                return batch;
+            }
+        }
+    }
+
+    // 측정 반복 하나의 ns/op
+    private double measure(Body body, int batch) {
+        long ops = 0;
+        long start = System.nanoTime();
+        long end = start + iterationNanos;
+        long now;
+        do {
+            sink += body.run(batch);
+            ops += batch;
+            now = System.nanoTime();
+        } while (now < end);
+        return (now - start) / (double) ops;
+    }
+}
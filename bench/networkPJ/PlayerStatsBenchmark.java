@@ -0,0 +1,172 @@
+package networkPJ;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ 플레이어 전적 저장소 측정
+ 1. 채우기: 플레이어 수만큼 게임 기록을 넣고 기록 스레드가 모두 반영할 때까지의 속도
+ 2. 다시 열어(캐시 빔) 전체 플레이어 중 무작위 조회: 대부분 캐시에 없어 색인과 데이터 파일을 읽음
+ 3. 캐시 크기 절반의 자주 오는 플레이어만 조회 (한 번 훑어 캐시를 채운 뒤 측정)
+ 4. 다른 스레드가 계속 기록하는 동안 무작위 조회 (기록 스레드가 파일을 쓰는 동안 조회가 얼마나 기다리는지)
+    같은 조건에서 lookupAsync를 부른 스레드가 돌아오기까지의 시간 (게임방이 네트워크 스레드에서 부르는 방식)
+ 5. 색인 파일을 지우고 다시 열어 색인을 다시 만드는 시간
+ 단계마다 무작위로 고른 플레이어의 전적이 넣은 값과 같은지 확인 (다르면 종료 코드 1)
+
+ 사용법: java -cp <classes> networkPJ.PlayerStatsBenchmark [폴더] [플레이어 수] [조회 수] [캐시 크기]
+ (기본값: /tmp/player-stats-bench 2000000 200000 100000)
+*/
+public class PlayerStatsBenchmark {
+    private static boolean failed;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "/tmp/player-stats-bench");
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int cacheSize = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+        Files.createDirectories(dir);
+        Files.deleteIfExists(dir.resolve(PlayerStatsStore.DATA_FILE));
+        Files.deleteIfExists(dir.resolve(PlayerStatsStore.INDEX_FILE));
+        ServerLog log = System.out::println;
+
+        // 1. 채우기 (플레이어 i: 1판, i % 4 == 0이면 승리, 최고 점수 i % 11)
+        PlayerStatsStore store = PlayerStatsStore.open(dir, cacheSize, 50, log);
+        long start = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            while (store.pendingCount() > 200_000) {
+                Thread.sleep(1);
+            }
+            store.gamePlayed(name(i), i % 4 == 0, i % 11);
+        }
+        store.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("채우기: 플레이어 %,d명 %.1f초 (%,.0f명/초), 데이터 %d MB + 색인 %d MB%n", players, seconds,
+                players / seconds, Files.size(dir.resolve(PlayerStatsStore.DATA_FILE)) >> 20,
+                Files.size(dir.resolve(PlayerStatsStore.INDEX_FILE)) >> 20);
+        System.out.println("  " + store);
+
+        // 2. 전체 무작위 조회
+        PlayerStatsStore cold = PlayerStatsStore.open(dir, cacheSize, 50, log);
+        SplittableRandom random = new SplittableRandom(1);
+        measure("전체 무작위 조회", cold, lookups, () -> random.nextInt(players));
+        System.out.println("  " + cold);
+
+        // 3. 자주 오는 플레이어
+        int hot = Math.max(1, Math.min(players, cacheSize / 2));
+        for (int i = 0; i < hot; i++) {
+            cold.lookup(name(i));
+        }
+        measure("자주 오는 " + hot + "명 조회", cold, lookups, () -> random.nextInt(hot));
+        System.out.println("  " + cold);
+
+        // 4. 기록하는 동안 조회 (기록하는 플레이어는 판 수만 바뀌지 않도록 맞는 종만 더함)
+        Thread writer = new Thread(() -> {
+            SplittableRandom writes = new SplittableRandom(2);
+            while (!Thread.currentThread().isInterrupted()) {
+                if (cold.pendingCount() < 50_000) {
+                    cold.ringAwarded(name(writes.nextInt(players)), 0);
+                } else {
+                    Thread.yield();
+                }
+            }
+        }, "bench-writer");
+        writer.start();
+        measure("기록 중 전체 무작위 조회", cold, lookups, () -> random.nextInt(players));
+        measureAsync("기록 중 전체 무작위 비동기 조회", cold, lookups, () -> random.nextInt(players));
+        writer.interrupt();
+        writer.join();
+        cold.close();
+        System.out.println("  " + cold);
+
+        // 5. 색인 다시 만들기
+        Files.delete(dir.resolve(PlayerStatsStore.INDEX_FILE));
+        start = System.nanoTime();
+        PlayerStatsStore reopened = PlayerStatsStore.open(dir, cacheSize, 50, log);
+        System.out.printf("색인 다시 만들기 포함 열기: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+        verify(reopened, players, new SplittableRandom(3));
+        PlayerStatsStore.Stats unknown = reopened.lookup("없는 플레이어");
+        if (unknown == null || unknown.gamesPlayed != 0) {
+            System.out.println("  불일치: 없는 플레이어의 전적 " + unknown);
+            failed = true;
+        }
+        reopened.close();
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static String name(int i) {
+        return "player" + i;
+    }
+
+    private interface Picker {
+        int next();
+    }
+
+    // 조회 시간 분포를 재고 같은 플레이어들의 전적 확인
+    private static void measure(String label, PlayerStatsStore store, int count, Picker picker) {
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            int player = picker.next();
+            long start = System.nanoTime();
+            PlayerStatsStore.Stats stats = store.lookup(name(player));
+            latencies[i] = System.nanoTime() - start;
+            if (stats == null || stats.gamesPlayed != 1 || stats.bestScore != player % 11) {
+                if (!failed) {
+                    System.out.println("  불일치: " + name(player) + " " + stats);
+                }
+                failed = true;
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%s %,d회: p50 %.2f us, p99 %.2f us, p99.9 %.2f us, 최대 %.1f us%n", label, count,
+                percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                percentile(latencies, 0.999) / 1e3, latencies[count - 1] / 1e3);
+    }
+
+    // lookupAsync 호출이 돌아오기까지의 시간 분포를 재고, 모든 결과가 도착한 뒤 전적 확인
+    private static void measureAsync(String label, PlayerStatsStore store, int count, Picker picker)
+            throws InterruptedException {
+        long[] latencies = new long[count];
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicInteger mismatches = new AtomicInteger();
+        for (int i = 0; i < count; i++) {
+            int player = picker.next();
+            long start = System.nanoTime();
+            store.lookupAsync(name(player), stats -> {
+                if (stats == null || stats.gamesPlayed != 1 || stats.bestScore != player % 11) {
+                    mismatches.incrementAndGet();
+                }
+                done.countDown();
+            });
+            latencies[i] = System.nanoTime() - start;
+        }
+        done.await();
+        Arrays.sort(latencies);
+        System.out.printf("%s %,d회 (호출 스레드): p50 %.2f us, p99 %.2f us, p99.9 %.2f us, 최대 %.1f us, 불일치 %d회%n",
+                label, count, percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3,
+                percentile(latencies, 0.999) / 1e3, latencies[count - 1] / 1e3, mismatches.get());
+        failed |= mismatches.get() > 0;
+    }
+
+    private static void verify(PlayerStatsStore store, int players, SplittableRandom random) {
+        int mismatches = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int player = random.nextInt(players);
+            PlayerStatsStore.Stats stats = store.lookup(name(player));
+            if (stats == null || stats.gamesPlayed != 1 || stats.wins != (player % 4 == 0 ? 1 : 0)
+                    || stats.bestScore != player % 11) {
+                mismatches++;
+            }
+        }
+        System.out.println("  확인: 무작위 플레이어 10,000명 중 불일치 " + mismatches + "명");
+        failed |= mismatches > 0;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+    }
+}
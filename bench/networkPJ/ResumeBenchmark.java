@@ -0,0 +1,255 @@
+package networkPJ;
+
+import java.util.Arrays;
+
+/*
+ 재접속(좌석 유지) 측정과 확인
+ 소켓 없이 메모리 연결만 둔 방 여러 개에 방마다 4명이 로그인해 토큰을 받은 뒤
+ 모든 플레이어가 끊겼다가 새 연결로 토큰을 보내 좌석을 되찾는 시간을 잼 (방 수를 늘려도 시간이 같은지)
+ 되찾은 연결이 받은 SNAPSHOT 하나에 자신의 이름, 위치, 점수가 그대로 있는지,
+ 로비의 방 수가 그대로인지, 모르는 토큰은 실패 응답 후 그 연결로 로그인할 수 있는지,
+ 대기 시간이 지나면 좌석이 비워지는지, 게임이 끝나면 잡아 둔 좌석을 바로 비우고 토큰을 폐기하는지,
+ 끝난 방이 점수 0인 새 게임을 시작해 새로 입장한 플레이어가 토큰을 받고 다음 종에서 GAME_OVER가 반복되지 않는지 확인
+ (하나라도 다르면 종료 코드 1)
+
+ 사용법: java -cp <classes> networkPJ.ResumeBenchmark [방 수 ...] (기본값: 1000 10000 100000)
+*/
+public class ResumeBenchmark {
+    private static boolean failed;
+
+    // 받은 메시지 중 재접속 확인에 필요한 것만 기록하는 메모리 연결
+    static final class RecordingConnection implements GameConnection {
+        String token;
+        GameMessage snapshot;
+        int resumeFailures;
+        int leftSeats;  // 점수 -1(퇴장) 알림 수
+        boolean closed;
+        int gameOvers;
+        final int[] board = {BellTable.EMPTY, BellTable.EMPTY, BellTable.EMPTY, BellTable.EMPTY}; // 받은 카드로 맞춘 판
+
+        @Override
+        public void sendMessage(GameMessage message) {
+            switch (message.getType()) {
+                case GameMessage.RESUME_TOKEN:
+                    token = message.getClientId();
+                    break;
+                case GameMessage.SNAPSHOT:
+                    snapshot = message;
+                    break;
+                case GameMessage.RESUME:
+                    resumeFailures++;
+                    break;
+                case GameMessage.SCORE_UPDATE:
+                    if (message.getScore() < 0) {
+                        leftSeats++;
+                    }
+                    break;
+                case GameMessage.FLIP_CARD:
+                    board[GameProtocol.seatOf(message.getPosition())] = message.getCardId();
+                    break;
+                case GameMessage.RING_BELL: // 맞는 종으로 판이 비워짐
+                    Arrays.fill(board, BellTable.EMPTY);
+                    break;
+                case GameMessage.GAME_OVER:
+                    gameOvers++;
+                    break;
+            }
+        }
+
+        @Override
+        public void closeConnection() {
+            closed = true;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] roomCounts = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1000, 10000, 100000};
+        for (int rooms : roomCounts) {
+            measure(rooms);
+        }
+        checkUnknownToken();
+        checkExpiry();
+        checkGameOver();
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static void measure(int roomCount) {
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 42, null, PlayerStatsStore.DISABLED, 60_000);
+        GameRoom[] rooms = new GameRoom[roomCount * GameRoom.SEATS];
+        RecordingConnection[] players = new RecordingConnection[rooms.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new RecordingConnection();
+            rooms[i] = lobby.assign(players[i]);
+            rooms[i].process(players[i], new GameMessage(GameMessage.LOGIN, "bot" + i, null));
+        }
+        // 점수가 0이 아닌 상태를 복원하는지 보도록 방마다 첫 플레이어가 맞는 종을 쳐 1점을 얻음
+        for (int i = 0; i < players.length; i += GameRoom.SEATS) {
+            RecordingConnection[] seated = Arrays.copyOfRange(players, i, i + GameRoom.SEATS);
+            if (flipUntilBell(rooms[i], seated)) {
+                rooms[i].process(players[i], new GameMessage(GameMessage.RING_BELL, "bot" + i, null));
+            }
+        }
+
+        // 모든 플레이어가 끊김 → 로비가 새 연결을 빈 좌석(새 방)에 배정 → 토큰으로 원래 좌석을 되찾음
+        long[] latencies = new long[players.length];
+        int mismatches = 0;
+        for (int i = 0; i < players.length; i++) {
+            rooms[i].leave(players[i]);
+        }
+        int roomsBefore = lobby.roomCount();
+        for (int i = 0; i < players.length; i++) {
+            RecordingConnection reconnected = new RecordingConnection();
+            long start = System.nanoTime();
+            GameRoom assigned = lobby.assign(reconnected);
+            GameRoom owner = assigned.process(reconnected, new GameMessage(GameMessage.RESUME, players[i].token, null));
+            latencies[i] = System.nanoTime() - start;
+
+            GameMessage snapshot = reconnected.snapshot;
+            int expectedScore = i % GameRoom.SEATS == 0 ? 1 : 0;
+            int seat = snapshot != null ? GameProtocol.seatOf(snapshot.getPosition()) : -1;
+            if (owner != rooms[i] || snapshot == null || !("bot" + i).equals(snapshot.getClientId())
+                    || !snapshot.getPosition().equals(players[i].snapshot.getPosition())
+                    || snapshot.getSnapshot().scoreAt(seat) != expectedScore) {
+                if (mismatches++ == 0) {
+                    System.out.println("  불일치: bot" + i + " " + (snapshot != null ? snapshot.getSnapshot() : "SNAPSHOT 없음"));
+                }
+            }
+        }
+        Arrays.sort(latencies);
+        System.out.printf("방 %,d개 (플레이어 %,d명) 재접속: p50 %.2f us, p99 %.2f us, p99.9 %.2f us, 최대 %.1f us, 방 수 %d → %d, 불일치 %d명%n",
+                roomCount, players.length, latencies[latencies.length / 2] / 1e3,
+                latencies[(int) (latencies.length * 0.99)] / 1e3, latencies[(int) (latencies.length * 0.999)] / 1e3,
+                latencies[latencies.length - 1] / 1e3, roomsBefore, lobby.roomCount(), mismatches);
+        failed |= mismatches > 0 || lobby.roomCount() != roomsBefore;
+        lobby.close();
+    }
+
+    // 모르는 토큰: 실패 응답, 연결은 배정된 방에 남아 로그인 가능
+    private static void checkUnknownToken() {
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 1, null, PlayerStatsStore.DISABLED, 60_000);
+        RecordingConnection connection = new RecordingConnection();
+        GameRoom room = lobby.assign(connection);
+        GameRoom owner = room.process(connection, new GameMessage(GameMessage.RESUME, "없는-토큰", null));
+        owner.process(connection, new GameMessage(GameMessage.LOGIN, "newcomer", null));
+        boolean ok = owner == room && connection.resumeFailures == 1 && !connection.closed
+                && connection.snapshot != null && connection.token != null;
+        System.out.println("모르는 토큰: 실패 응답 " + connection.resumeFailures + "회, 이어서 로그인 " + (ok ? "성공" : "실패"));
+        failed |= !ok;
+        lobby.close();
+    }
+
+    /*
+     대기 시간이 지나면 좌석을 비우고, 만료 뒤의 토큰은 실패
+     화면 있는 서버처럼 closeAll(서버 중지) 뒤 같은 로비를 다시 써도 같아야 함
+     (중지할 때 잡혀 있던 좌석은 만료를 기다리지 않고 버려짐)
+    */
+    private static void checkExpiry() throws InterruptedException {
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 1, null, PlayerStatsStore.DISABLED, 200);
+        expire(lobby, "대기 시간 만료");
+        RecordingConnection held = new RecordingConnection();
+        GameRoom room = lobby.assign(held);
+        room.process(held, new GameMessage(GameMessage.LOGIN, "held", null));
+        room.leave(held);
+        lobby.closeAll();
+        expire(lobby, "서버 중지 후 다시 시작한 로비의 대기 시간 만료");
+        boolean ok = lobby.roomCount() == 1;
+        System.out.println("  다시 시작한 로비의 방 수: " + lobby.roomCount() + " (" + (ok ? "정상" : "오류") + ")");
+        failed |= !ok;
+        lobby.close();
+    }
+
+    private static void expire(GameLobby lobby, String label) throws InterruptedException {
+        RecordingConnection stays = new RecordingConnection();
+        RecordingConnection drops = new RecordingConnection();
+        GameRoom room = lobby.assign(stays);
+        room.process(stays, new GameMessage(GameMessage.LOGIN, "stays", null));
+        lobby.assign(drops).process(drops, new GameMessage(GameMessage.LOGIN, "drops", null));
+        room.leave(drops);
+        int leftDuringGrace = stays.leftSeats;
+        Thread.sleep(500);
+
+        RecordingConnection late = new RecordingConnection();
+        GameRoom owner = lobby.assign(late).process(late, new GameMessage(GameMessage.RESUME, drops.token, null));
+        boolean ok = leftDuringGrace == 0 && stays.leftSeats == 1 && late.resumeFailures == 1 && late.snapshot == null;
+        System.out.println(label + ": 대기 중 퇴장 알림 " + leftDuringGrace + "회, 만료 후 " + stays.leftSeats
+                + "회, 만료된 토큰 재접속 실패 응답 " + late.resumeFailures + "회 (" + (ok ? "정상" : "오류") + ")");
+        failed |= !ok || owner == null;
+    }
+
+    // 맞는 종을 칠 수 있는 판이 나올 때까지 차례대로 카드를 뒤집음 (첫 플레이어가 받은 카드로 판정)
+    private static boolean flipUntilBell(GameRoom room, RecordingConnection[] players) {
+        for (int flips = 0; flips < 10_000; flips++) {
+            if (BellTable.scoreChange(BellTable.lookup(players[0].board)) == 1) {
+                return true;
+            }
+            for (RecordingConnection player : players) {
+                room.process(player, new GameMessage(GameMessage.FLIP_CARD, null, null));
+            }
+        }
+        return false;
+    }
+
+    /*
+     게임이 끝나면 재접속을 기다리던 좌석은 바로 비우고, 그 뒤에 끊긴 연결도 기다리지 않음
+     끝난 방은 같은 자리에서 점수 0인 새 게임을 시작: 새로 입장한 플레이어는 토큰을 받고, 다음 맞는 종은 1점
+    */
+    private static void checkGameOver() {
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 1, null, PlayerStatsStore.DISABLED, 60_000);
+        RecordingConnection[] players = new RecordingConnection[GameRoom.SEATS];
+        GameRoom room = null;
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new RecordingConnection();
+            room = lobby.assign(players[i]);
+            room.process(players[i], new GameMessage(GameMessage.LOGIN, "p" + i, null));
+        }
+        RecordingConnection winner = players[0];
+        RecordingConnection dropped = players[3];
+        // 맞는 종을 아홉 번 쳐 승리 점수(10) 직전까지 간 뒤, 열 번째 종을 치기 직전에 한 명이 끊김
+        for (int points = 0; points < 9 && flipUntilBell(room, players); points++) {
+            room.process(winner, new GameMessage(GameMessage.RING_BELL, "p0", null));
+        }
+        flipUntilBell(room, players);
+        room.leave(dropped);
+        int leftBeforeGameOver = winner.leftSeats;
+        room.process(winner, new GameMessage(GameMessage.RING_BELL, "p0", null));
+        int leftAtGameOver = winner.leftSeats - leftBeforeGameOver;
+
+        RecordingConnection quitter = players[1];
+        room.leave(quitter);
+        int leftAfterGameOver = winner.leftSeats - leftBeforeGameOver - leftAtGameOver;
+        RecordingConnection late = new RecordingConnection();
+        lobby.assign(late).process(late, new GameMessage(GameMessage.RESUME, quitter.token, null)).leave(late);
+
+        boolean ok = winner.gameOvers == 1 && leftBeforeGameOver == 0 && leftAtGameOver == 1 && leftAfterGameOver == 1
+                && late.resumeFailures == 1;
+        System.out.println("게임 종료: 잡아 둔 좌석 비움 " + leftAtGameOver + "회, 종료 뒤 끊긴 좌석 바로 비움 " + leftAfterGameOver
+                + "회, 폐기된 토큰 재접속 실패 응답 " + late.resumeFailures + "회 (" + (ok ? "정상" : "오류") + ")");
+        failed |= !ok;
+
+        // 로비는 빈 좌석이 생긴 끝난 방에 새 플레이어를 앉힘 → 네 명이 다시 차면 새 게임 진행
+        RecordingConnection newcomer = new RecordingConnection();
+        GameRoom next = lobby.assign(newcomer);
+        next.process(newcomer, new GameMessage(GameMessage.LOGIN, "newcomer", null));
+        RecordingConnection second = new RecordingConnection();
+        lobby.assign(second).process(second, new GameMessage(GameMessage.LOGIN, "second", null));
+        GameSnapshot snapshot = newcomer.snapshot != null ? newcomer.snapshot.getSnapshot() : null;
+        boolean zeroScores = snapshot != null;
+        for (int seat = 0; zeroScores && seat < snapshot.seats(); seat++) {
+            zeroScores = snapshot.scoreAt(seat) == 0;
+        }
+        RecordingConnection[] seated = {winner, players[2], newcomer, second};
+        boolean rang = false;
+        if (flipUntilBell(room, seated)) {
+            room.process(winner, new GameMessage(GameMessage.RING_BELL, "p0", null));
+            rang = true;
+        }
+        ok = next == room && newcomer.token != null && zeroScores && rang && winner.gameOvers == 1
+                && room.snapshot().scoreAt(0) == 1;
+        System.out.println("새 게임: 새 플레이어 토큰 " + (newcomer.token != null ? "받음" : "없음") + ", 시작 점수 "
+                + (zeroScores ? "모두 0" : snapshot) + ", 다음 종 뒤 승자 점수 " + room.snapshot().scoreAt(0)
+                + ", GAME_OVER " + winner.gameOvers + "회 (" + (ok ? "정상" : "오류") + ")");
+        failed |= !ok;
+        lobby.close();
+    }
+}
@@ -0,0 +1,100 @@
+package networkPJ;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ 게임방 처리량 벤치마크
+ 소켓 없이 메모리 연결만 둔 게임방 여러 개를 한 스레드에서 돌려
+ 한 코어가 처리할 수 있는 게임 행동 수와 동시 진행 가능한 방 수를 측정
+ 방 실행기에 호출 스레드에서 바로 실행하는 풀을 주어 스레드 전환 비용 없이 게임 로직만 측정
+
+ 사용법: java -cp <classes> networkPJ.RoomBenchmark [방 수] [측정 초] [방당 초당 행동 수]
+*/
+public class RoomBenchmark {
+
+    // 받은 메시지 수와 마지막으로 뒤집힌 카드만 기록하는 메모리 연결
+    static final class CountingConnection implements GameConnection {
+        long received;
+        int lastCardId = BellTable.EMPTY;
+
+        @Override
+        public void sendMessage(GameMessage message) {
+            received++;
+            if (message.getType() == GameMessage.FLIP_CARD) {
+                lastCardId = message.getCardId();
+            }
+        }
+
+        @Override
+        public void closeConnection() {
+        }
+    }
+
+    public static void main(String[] args) {
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        double actionsPerRoom = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 42);
+        GameRoom[] rooms = new GameRoom[roomCount];
+        CountingConnection[][] seats = new CountingConnection[roomCount][GameRoom.SEATS];
+        int[] turns = new int[roomCount];
+
+        // 방마다 4명 입장
+        for (int r = 0; r < roomCount; r++) {
+            for (int s = 0; s < GameRoom.SEATS; s++) {
+                seats[r][s] = new CountingConnection();
+                rooms[r] = lobby.assign(seats[r][s]);
+                rooms[r].process(seats[r][s], new GameMessage(GameMessage.LOGIN, "bot" + r + "_" + s, null));
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        int[] board = new int[GameRoom.SEATS];
+        int[][] boards = new int[roomCount][GameRoom.SEATS];
+        for (int[] b : boards) {
+            Arrays.fill(b, BellTable.EMPTY);
+        }
+
+        long actions = 0;
+        long warmupEnd = System.nanoTime() + 2_000_000_000L;
+        long start = 0;
+        long end = Long.MAX_VALUE;
+        boolean measuring = false;
+        while (true) {
+            for (int r = 0; r < roomCount; r++) {
+                // 차례인 플레이어가 카드를 뒤집고, 판정이 +1이면 임의의 플레이어가 종을 침
+                int seat = turns[r];
+                rooms[r].process(seats[r][seat], new GameMessage(GameMessage.FLIP_CARD, null, null));
+                boards[r][seat] = seats[r][seat].lastCardId;
+                turns[r] = (seat + 1) % GameRoom.SEATS;
+                actions++;
+
+                System.arraycopy(boards[r], 0, board, 0, GameRoom.SEATS);
+                if (BellTable.scoreChange(BellTable.lookup(board)) == 1) {
+                    rooms[r].process(seats[r][random.nextInt(GameRoom.SEATS)], new GameMessage(GameMessage.RING_BELL, null, null));
+                    Arrays.fill(boards[r], BellTable.EMPTY);
+                    actions++;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (!measuring && now >= warmupEnd) {
+                measuring = true;
+                actions = 0;
+                start = now;
+                end = now + seconds * 1_000_000_000L;
+            } else if (measuring && now >= end) {
+                break;
+            }
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        double actionsPerSecond = actions / elapsed;
+        System.out.printf("방 수: %d, 측정 시간: %.1f초%n", roomCount, elapsed);
+        System.out.printf("처리량: %.0f 행동/초 (1코어)%n", actionsPerSecond);
+        System.out.printf("방당 초당 %.1f 행동 기준 동시 진행 가능 방 수: %.0f%n",
+                actionsPerRoom, actionsPerSecond / actionsPerRoom);
+    }
+}
@@ -0,0 +1,73 @@
+package networkPJ;
+
+import javax.swing.ImageIcon;
+import java.awt.Image;
+import java.net.URL;
+
+/*
+ 게임 화면을 여는 데 걸리는 시간 중 카드 이미지 준비 시간 측정
+ before: 기존 방식처럼 로그인할 때마다 30개 PNG를 차례로 읽고 SCALE_SMOOTH로 줄임
+ after: CardImages 공유 캐시 사용 (로그인 화면에서 preload 후 입력 시간만큼 기다렸다가 게임 화면 생성)
+ 화면 구성 나머지 부분은 두 방식이 같으므로 이미지 준비 시간 차이가 첫 화면까지의 시간 차이
+ JVM 시작 직후의 첫 로그인을 재려면 방식마다 새 JVM으로 실행 (X 서버 없이 -Djava.awt.headless=true로 실행 가능)
+
+ 사용법: java -cp <classes>:<src> networkPJ.StartupBenchmark <before|after> [로그인 횟수] [로그인 입력 시간 ms]
+*/
+public class StartupBenchmark {
+    public static void main(String[] args) throws Exception {
+        long jvmStart = System.nanoTime();
+        String mode = args.length > 0 ? args[0] : "after";
+        int logins = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long typingMillis = args.length > 2 ? Long.parseLong(args[2]) : 0;
+
+        if (mode.equals("after")) {
+            CardImages.preload(); // 로그인 화면 생성 시점
+        }
+        Thread.sleep(typingMillis);
+
+        System.out.printf("방식: %s, 로그인 입력 시간 %d ms, 실행 스레드 %d개%n",
+                mode, typingMillis, Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < logins; i++) {
+            long start = System.nanoTime();
+            int loaded = mode.equals("before") ? loadEveryTime() : loadFromCache();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("로그인 %d: 이미지 %d개 준비 %.1f ms%s%n", i + 1, loaded, elapsed / 1e6,
+                    i == 0 ? String.format(" (JVM 시작부터 %.1f ms)", (System.nanoTime() - jvmStart) / 1e6) : "");
+        }
+    }
+
+    // 기존 CardGameGUI 필드 초기화와 같은 순서와 방법
+    private static int loadEveryTime() {
+        int count = 0;
+        for (int i = 0; i < CardCatalog.SIZE; i++) {
+            count += resize(load("networkImage/" + CardCatalog.get(i).fileName)) != null ? 1 : 0;
+        }
+        count += resize(load("networkImage/카드뒷면.png")) != null ? 1 : 0;
+        count += resize(load("networkImage/종 멈춤.png")) != null ? 1 : 0;
+        count += resize(load("networkImage/종 움직임.png")) != null ? 1 : 0;
+        return count;
+    }
+
+    private static ImageIcon load(String path) {
+        URL url = StartupBenchmark.class.getClassLoader().getResource(path);
+        return url != null ? new ImageIcon(url) : null;
+    }
+
+    private static ImageIcon resize(ImageIcon icon) {
+        if (icon == null) {
+            return null;
+        }
+        return new ImageIcon(icon.getImage().getScaledInstance(CardImages.WIDTH, CardImages.HEIGHT, Image.SCALE_SMOOTH));
+    }
+
+    private static int loadFromCache() {
+        int count = 0;
+        for (ImageIcon icon : CardImages.cards()) {
+            count += icon != null ? 1 : 0;
+        }
+        count += CardImages.back() != null ? 1 : 0;
+        count += CardImages.bell(0) != null ? 1 : 0;
+        count += CardImages.bell(1) != null ? 1 : 0;
+        return count;
+    }
+}
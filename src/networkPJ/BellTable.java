@@ -0,0 +1,121 @@
+package networkPJ;
+
+import java.util.Arrays;
+
+/*
+ 종치기 판정 결과를 미리 계산해 둔 조회 테이블
+ 네 좌석의 카드 번호(빈 자리 포함 28가지)로 만들 수 있는 모든 판 상태에 대해
+ 판정 사유 코드를 1바이트씩 저장하여 종치기 판정을 인덱스 계산과 배열 조회 한 번으로 처리
+*/
+final class BellTable {
+    // 카드가 놓이지 않은 좌석을 나타내는 값
+    static final int EMPTY = CardCatalog.SIZE;
+
+    // 판정 사유 코드
+    static final int PLUS_CARD = 1;        // plus 카드 존재 (+1, minus 카드보다 우선)
+    static final int MINUS_CARD = 2;       // minus 카드 존재 (-1)
+    static final int SUM_FIVE = 3;         // 같은 과일 합이 5 (+1)
+    static final int SUM_OVER_FIVE = 4;    // 같은 과일 합이 5 초과 (-1)
+    static final int SUM_UNDER_FIVE = 5;   // 같은 과일 합이 5 미만 (-1)
+
+    private static final int SEATS = 4;
+    private static final int STATES = CardCatalog.SIZE + 1;
+
+    // 사유 코드별 점수 변화와 로그 문구
+    private static final int[] SCORE_CHANGE = {0, 1, -1, 1, -1, -1};
+    private static final String[] DESCRIPTIONS = {
+        "",
+        "plus 카드로 인해 1점을 얻었습니다.",
+        "minus 카드로 인해 1점을 잃었습니다.",
+        "합이 5로 인해 1점을 얻었습니다.",
+        "합이 5를 초과하여 1점을 잃었습니다.",
+        "합이 5 미만으로 인해 1점을 잃었습니다."
+    };
+
+    // 28^4 개의 판 상태별 사유 코드
+    private static final byte[] TABLE = buildTable();
+
+    private BellTable() {
+    }
+
+    // 네 좌석의 카드 번호로 테이블 인덱스 계산
+    static int index(int topLeft, int topRight, int bottomLeft, int bottomRight) {
+        return ((topLeft * STATES + topRight) * STATES + bottomLeft) * STATES + bottomRight;
+    }
+
+    // 좌석별 카드 번호 배열(빈 자리는 EMPTY)의 판정 사유 코드 조회
+    static int lookup(int[] board) {
+        return TABLE[index(board)];
+    }
+
+    // 좌석별 카드 번호 배열의 테이블 인덱스
+    static int index(int[] board) {
+        return index(board[0], board[1], board[2], board[3]);
+    }
+
+    // 미리 계산해 둔 테이블 인덱스의 판정 사유 코드 조회
+    static int reasonAt(int index) {
+        return TABLE[index];
+    }
+
+    // 사유 코드에 따른 점수 변화 (+1 / -1)
+    static int scoreChange(int reason) {
+        return SCORE_CHANGE[reason];
+    }
+
+    // 사유 코드에 해당하는 로그 문구
+    static String describe(int reason) {
+        return DESCRIPTIONS[reason];
+    }
+
+    // 모든 판 상태의 사유 코드를 과일별 합계로 계산
+    private static byte[] buildTable() {
+        byte[] table = new byte[STATES * STATES * STATES * STATES];
+        int[] board = new int[SEATS];
+        int[] sums = new int[5];
+        for (int i = 0; i < table.length; i++) {
+            int rest = i;
+            for (int seat = SEATS - 1; seat >= 0; seat--) {
+                board[seat] = rest % STATES;
+                rest /= STATES;
+            }
+
+            boolean hasPlus = false;
+            boolean hasMinus = false;
+            Arrays.fill(sums, 0);
+            for (int cardId : board) {
+                if (cardId == EMPTY) {
+                    continue;
+                }
+                CardCatalog.Card card = CardCatalog.get(cardId);
+                if (card.kind == CardCatalog.PLUS) {
+                    hasPlus = true;
+                } else if (card.kind == CardCatalog.MINUS) {
+                    hasMinus = true;
+                } else {
+                    sums[card.fruit] += card.value;
+                }
+            }
+
+            int reason;
+            if (hasPlus) {
+                reason = PLUS_CARD;
+            } else if (hasMinus) {
+                reason = MINUS_CARD;
+            } else {
+                reason = SUM_UNDER_FIVE;
+                for (int sum : sums) {
+                    if (sum == 5) {
+                        reason = SUM_FIVE;
+                        break;
+                    }
+                    if (sum > 5) {
+                        reason = SUM_OVER_FIVE;
+                    }
+                }
+            }
+            table[i] = (byte) reason;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,42 @@
+package networkPJ;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ 같은 크기의 direct ByteBuffer를 재사용하는 풀
+ 연결이 끊길 때 반환된 버퍼를 다음 연결이 다시 사용하여 direct 메모리 할당을 줄임
+*/
+final class BufferPool {
+    private final int bufferSize;
+    private final int maxPooled; // 풀에 보관할 최대 버퍼 수
+
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    // 버퍼 하나를 빌림 (풀이 비었으면 새로 할당)
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    // 다 쓴 버퍼를 반환 (풀이 가득 차면 버림)
+    void release(ByteBuffer buffer) {
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
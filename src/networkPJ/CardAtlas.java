@@ -0,0 +1,115 @@
+package networkPJ;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ 카드 이미지 아틀라스
+ 모든 카드/뒷면/종 이미지를 카드 크기로 미리 줄여 PNG 한 장(cards-atlas.png)에 격자로 모으고
+ 파일 이름별 위치를 색인 파일(cards-atlas.txt)에 적어 둠
+ 클라이언트는 클래스패스 조회 두 번과 PNG 디코딩 한 번으로 모든 이미지를 얻고
+ 잘라 낸 이미지는 아틀라스의 픽셀 배열을 공유하므로 이미지마다 따로 메모리를 쓰지 않음
+
+ 원본 이미지를 바꾼 뒤에는 다시 생성:
+   java -cp <classes> networkPJ.CardAtlas [이미지 폴더 (기본값: src/networkImage)]
+*/
+final class CardAtlas {
+    static final String IMAGE = "networkImage/cards-atlas.png";
+    static final String INDEX = "networkImage/cards-atlas.txt";
+
+    private final Map<String, BufferedImage> sprites;
+
+    private CardAtlas(Map<String, BufferedImage> sprites) {
+        this.sprites = sprites;
+    }
+
+    // 원본 파일 이름에 해당하는 잘라 낸 이미지 (아틀라스에 없으면 null)
+    BufferedImage get(String file) {
+        return sprites.get(file);
+    }
+
+    /*
+     클래스패스에서 아틀라스 읽기 (아틀라스가 없으면 null)
+     색인 한 줄: x y 너비 높이 파일 이름 (파일 이름에는 공백이 있을 수 있어 마지막에 둠)
+    */
+    static CardAtlas read() throws IOException {
+        ClassLoader loader = CardAtlas.class.getClassLoader();
+        try (InputStream imageIn = loader.getResourceAsStream(IMAGE);
+             InputStream indexIn = loader.getResourceAsStream(INDEX)) {
+            if (imageIn == null || indexIn == null) {
+                return null;
+            }
+            BufferedImage atlas = ImageIO.read(imageIn);
+            if (atlas == null) {
+                throw new IOException("아틀라스 이미지 형식을 읽을 수 없습니다: " + IMAGE);
+            }
+            Map<String, BufferedImage> sprites = new HashMap<>();
+            BufferedReader index = new BufferedReader(new InputStreamReader(indexIn, StandardCharsets.UTF_8));
+            String line;
+            while ((line = index.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(" ", 5);
+                if (fields.length != 5) {
+                    throw new IOException("아틀라스 색인 형식 오류: " + line);
+                }
+                try {
+                    sprites.put(fields[4], atlas.getSubimage(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                            Integer.parseInt(fields[2]), Integer.parseInt(fields[3])));
+                } catch (RuntimeException e) {
+                    throw new IOException("아틀라스 색인 형식 오류: " + line);
+                }
+            }
+            return new CardAtlas(sprites);
+        }
+    }
+
+    // 원본 이미지 폴더의 이미지들을 카드 크기로 줄여 아틀라스와 색인 생성
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "src/networkImage");
+        String[] files = CardImages.assetFiles();
+        int columns = (int) Math.ceil(Math.sqrt(files.length));
+        int rows = (files.length + columns - 1) / columns;
+
+        BufferedImage atlas = new BufferedImage(columns * CardImages.WIDTH, rows * CardImages.HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        StringBuilder index = new StringBuilder();
+        index.append("# 카드 이미지 아틀라스 색인 (CardAtlas로 생성, 직접 수정하지 말 것)\n");
+        index.append("# x y 너비 높이 파일 이름\n");
+        for (int i = 0; i < files.length; i++) {
+            BufferedImage source = ImageIO.read(dir.resolve(files[i]).toFile());
+            if (source == null) {
+                throw new IOException("이미지 형식을 읽을 수 없습니다: " + files[i]);
+            }
+            int x = (i % columns) * CardImages.WIDTH;
+            int y = (i / columns) * CardImages.HEIGHT;
+            g.drawImage(CardImages.scale(source, CardImages.WIDTH, CardImages.HEIGHT), x, y, null);
+            index.append(x).append(' ').append(y).append(' ')
+                    .append(CardImages.WIDTH).append(' ').append(CardImages.HEIGHT).append(' ')
+                    .append(files[i]).append('\n');
+        }
+        g.dispose();
+
+        Path imageFile = dir.resolve(Paths.get(IMAGE).getFileName());
+        Path indexFile = dir.resolve(Paths.get(INDEX).getFileName());
+        ImageIO.write(atlas, "png", imageFile.toFile());
+        try (Writer out = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            out.write(index.toString());
+        }
+        System.out.println("이미지 " + files.length + "개를 " + atlas.getWidth() + "x" + atlas.getHeight()
+                + " 아틀라스로 만들었습니다: " + imageFile + ", " + indexFile);
+    }
+}
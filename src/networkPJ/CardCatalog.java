@@ -0,0 +1,79 @@
+package networkPJ;
+
+/*
+ 게임에서 사용하는 27장의 카드 목록
+ 카드 번호(0~26)로 과일, 숫자, 특수 카드 종류를 배열 조회 한 번에 얻음
+ 서버와 클라이언트가 같은 번호 체계를 공유하므로 네트워크로는 번호만 전송
+*/
+final class CardCatalog {
+    // 과일 번호 (카드 번호 / 5 순서)
+    static final int LIME = 0;
+    static final int BANANA = 1;
+    static final int APPLE = 2;
+    static final int ORANGE = 3;
+    static final int GRAPE = 4;
+    static final int NO_FRUIT = -1;       // 특수 카드
+
+    // 카드 종류
+    static final int NORMAL = 0;          // 일반 과일 카드
+    static final int PLUS = 1;            // plus 카드
+    static final int MINUS = 2;           // minus 카드
+
+    // 특수 카드 번호와 전체 카드 수
+    static final int PLUS_CARD = 25;
+    static final int MINUS_CARD = 26;
+    static final int SIZE = 27;
+
+    private static final String[] FRUIT_NAMES = {"lime", "banana", "apple", "orange", "grape"};
+
+    // 카드 한 장의 불변 정보
+    static final class Card {
+        final int id;           // 카드 번호
+        final int fruit;        // 과일 번호 (특수 카드는 NO_FRUIT)
+        final int value;        // 과일 개수 (특수 카드는 0)
+        final int kind;         // 카드 종류
+        final String name;      // 카드 이름 (예: lime3, plus)
+        final String fileName;  // 이미지 파일명
+
+        private Card(int id, int fruit, int value, int kind, String name, String fileName) {
+            this.id = id;
+            this.fruit = fruit;
+            this.value = value;
+            this.kind = kind;
+            this.name = name;
+            this.fileName = fileName;
+        }
+    }
+
+    private static final Card[] CARDS = new Card[SIZE];
+
+    static {
+        for (int fruit = 0; fruit < FRUIT_NAMES.length; fruit++) {
+            for (int value = 1; value <= 5; value++) {
+                int id = fruit * 5 + (value - 1);
+                String name = FRUIT_NAMES[fruit] + value;
+                CARDS[id] = new Card(id, fruit, value, NORMAL, name, name + ".png");
+            }
+        }
+        CARDS[PLUS_CARD] = new Card(PLUS_CARD, NO_FRUIT, 0, PLUS, "plus", "plus1.png");
+        CARDS[MINUS_CARD] = new Card(MINUS_CARD, NO_FRUIT, 0, MINUS, "minus", "minus1.png");
+    }
+
+    private CardCatalog() {
+    }
+
+    // 카드 번호 유효성 확인
+    static boolean isValid(int cardId) {
+        return cardId >= 0 && cardId < SIZE;
+    }
+
+    // 카드 번호로 카드 정보 조회
+    static Card get(int cardId) {
+        return CARDS[cardId];
+    }
+
+    // 과일 번호에 해당하는 이름 반환
+    static String fruitName(int fruit) {
+        return fruit == NO_FRUIT ? "special" : FRUIT_NAMES[fruit];
+    }
+}
@@ -1,109 +1,27 @@
 package networkPJ;
 
 import javax.swing.*;
-import javax.swing.Timer;
 import java.awt.*;
 import java.awt.event.*;
-import java.net.URL;
 import java.util.*;
 
 public class CardGameGUI extends JFrame {
-    private static final int IMG_WIDTH = 100;
-    private static final int IMG_HEIGHT = 100;
-    
-
-    protected ImageIcon resizeImage(ImageIcon icon) {
-        Image img = icon.getImage();
-        Image resizedImg = img.getScaledInstance(IMG_WIDTH, IMG_HEIGHT, Image.SCALE_SMOOTH);
-        return new ImageIcon(resizedImg);
+    // 이미지에 해당하는 카드 번호를 반환하는 메서드 (카드 이미지가 아니면 -1)
+    protected int getCardId(ImageIcon imageIcon) {
+        return imageIcon instanceof CardImages.CardIcon ? ((CardImages.CardIcon) imageIcon).cardId : -1;
     }
 
-    // 이미지 로딩 메서드 추가
-    protected ImageIcon loadImageIcon(String path) {
-        URL imageURL = getClass().getClassLoader().getResource(path);
-        if (imageURL != null) {
-            return new ImageIcon(imageURL);
-        } else {
-            System.err.println("이미지를 찾을 수 없습니다: " + path);
-            return null;
-        }
-    }
-    
- // 이미지명을 추출하는 메서드 추가
-    protected String getImageName(ImageIcon imageIcon) {
-        for (int i = 0; i < image.length; i++) {
-            if (image[i] == imageIcon) {
-                // 리소스 경로에서 실제 파일명 추출
-                URL url = getClass().getClassLoader().getResource("networkImage/" + getImageFileName(i));
-                return url != null ? url.getFile() : "unknown";
-            }
-        }
-        return "unknown";
-    }
+    // 카드 이미지는 프로그램 전체에서 한 번만 읽어 공유 (배열 인덱스 = 카드 번호)
+    protected ImageIcon image[] = CardImages.cards();
 
-    // 이미지 배열 인덱스에 해당하는 파일명을 반환하는 메서드
-    private String getImageFileName(int index) {
-        String[] fileNames = {
-            "lime1.png", "lime2.png", "lime3.png", "lime4.png", "lime5.png",
-            "banana1.png", "banana2.png", "banana3.png", "banana4.png", "banana5.png",
-            "apple1.png", "apple2.png", "apple3.png", "apple4.png", "apple5.png",
-            "orange1.png", "orange2.png", "orange3.png", "orange4.png", "orange5.png",
-            "grape1.png", "grape2.png", "grape3.png", "grape4.png", "grape5.png",
-            "plus1.png","minus1.png"
-        };
-        return fileNames[index];
-    }
+    // 네 좌석의 카드와 종을 직접 그리는 게임판
+    protected GameBoard board = new GameBoard();
 
-    protected ImageIcon image[] = {
-        resizeImage(loadImageIcon("networkImage/lime1.png")),
-        resizeImage(loadImageIcon("networkImage/lime2.png")),
-        resizeImage(loadImageIcon("networkImage/lime3.png")),
-        resizeImage(loadImageIcon("networkImage/lime4.png")),
-        resizeImage(loadImageIcon("networkImage/lime5.png")),
-        resizeImage(loadImageIcon("networkImage/banana1.png")),
-        resizeImage(loadImageIcon("networkImage/banana2.png")),
-        resizeImage(loadImageIcon("networkImage/banana3.png")),
-        resizeImage(loadImageIcon("networkImage/banana4.png")),
-        resizeImage(loadImageIcon("networkImage/banana5.png")),
-        resizeImage(loadImageIcon("networkImage/apple1.png")),
-        resizeImage(loadImageIcon("networkImage/apple2.png")),
-        resizeImage(loadImageIcon("networkImage/apple3.png")),
-        resizeImage(loadImageIcon("networkImage/apple4.png")),
-        resizeImage(loadImageIcon("networkImage/apple5.png")),
-        resizeImage(loadImageIcon("networkImage/orange1.png")),
-        resizeImage(loadImageIcon("networkImage/orange2.png")),
-        resizeImage(loadImageIcon("networkImage/orange3.png")),
-        resizeImage(loadImageIcon("networkImage/orange4.png")),
-        resizeImage(loadImageIcon("networkImage/orange5.png")),
-        resizeImage(loadImageIcon("networkImage/grape1.png")),
-        resizeImage(loadImageIcon("networkImage/grape2.png")),
-        resizeImage(loadImageIcon("networkImage/grape3.png")),
-        resizeImage(loadImageIcon("networkImage/grape4.png")),
-        resizeImage(loadImageIcon("networkImage/grape5.png")),
-        resizeImage(loadImageIcon("networkImage/plus1.png")),
-        resizeImage(loadImageIcon("networkImage/minus1.png"))
-    };
-    
-    protected ImageIcon backCard = resizeImage(loadImageIcon("networkImage/카드뒷면.png"));
-    
-    protected ImageIcon bell[] = {
-        resizeImage(loadImageIcon("networkImage/종 멈춤.png")),
-        resizeImage(loadImageIcon("networkImage/종 움직임.png"))
-    };
-
-    protected JLabel topLeftRandomCard = new JLabel();
-    protected JLabel topLeftBackCard = new JLabel();
-    protected JLabel topRightRandomCard = new JLabel();
-    protected JLabel topRightBackCard = new JLabel();
-    protected JLabel bottomLeftRandomCard = new JLabel();
-    protected JLabel bottomLeftBackCard = new JLabel();
-    protected JLabel bottomRightRandomCard = new JLabel();
-    protected JLabel bottomRightBackCard = new JLabel();
-    protected JLabel bellLabel = new JLabel();
+    // -Dboard.paintStats=true 이면 창을 닫을 때 게임판 그리기 시간 출력
+    private static final boolean PAINT_STATS = Boolean.getBoolean("board.paintStats");
 
     protected JButton flipButton = new JButton("카드뒤집기");
     protected JButton ringBellButton = new JButton("종치기");
-    protected Set<Integer> usedIndexes;
 
     public CardGameGUI() {
         setTitle("카드 뒤집기 게임");
@@ -114,45 +32,6 @@ public class CardGameGUI extends JFrame {
         c.setLayout(new BorderLayout());
         c.setBackground(Color.BLACK);
 
-        usedIndexes = new HashSet<>();
-
-        // 메인 패널 (카드와 종을 담을 패널)
-        JPanel mainPanel = new JPanel(new GridBagLayout());
-        mainPanel.setBackground(Color.BLACK);
-
-        // GridBagConstraints 설정
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(10, 10, 10, 10);
-
-        // 각 섹션의 패널 생성
-        JPanel topLeftSection = createCardSection(topLeftRandomCard, topLeftBackCard);
-        JPanel topRightSection = createCardSection(topRightRandomCard, topRightBackCard);
-        JPanel bottomLeftSection = createCardSection(bottomLeftRandomCard, bottomLeftBackCard);
-        JPanel bottomRightSection = createCardSection(bottomRightRandomCard, bottomRightBackCard);
-
-        // 종 레이블 초기화
-        bellLabel.setIcon(bell[0]); // 초기 상태는 "종 멈춤"
-
-        // 컴포넌트 배치
-        gbc.gridx = 0; gbc.gridy = 0;
-        mainPanel.add(topLeftSection, gbc);
-
-        gbc.gridx = 2;
-        mainPanel.add(topRightSection, gbc);
-
-        gbc.gridx = 1; gbc.gridy = 1;
-        mainPanel.add(bellLabel, gbc);
-
-        gbc.gridx = 0; gbc.gridy = 2;
-        mainPanel.add(bottomLeftSection, gbc);
-
-        gbc.gridx = 2;
-        mainPanel.add(bottomRightSection, gbc);
-
-        // 초기 이미지 설정
-        setAllRandomCards(backCard);
-        setAllBackCards(backCard);
-
         // 버튼 패널
         JPanel buttonPanel = new JPanel();
         buttonPanel.setBackground(Color.BLACK);
@@ -164,62 +43,35 @@ public class CardGameGUI extends JFrame {
         // 버튼 이벤트 설정
         flipButton.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
-                ImageIcon newImage = getRandomImageExcludingBackCard();
-                setAllRandomCards(newImage);
+                int cardId = getCardId(getRandomImageExcludingBackCard());
+                for (int seat = 0; seat < GameRoom.SEATS; seat++) {
+                    board.showCard(seat, cardId);
+                }
             }
         });
 
         // 종치기 버튼 이벤트
         ringBellButton.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
-                // 종 이미지를 "종 움직임"으로 변경
-                bellLabel.setIcon(bell[1]);
-                
-                // 1초 후에 다시 "종 멈춤"으로 변경하고 카드를 초기화
-                Timer timer = new Timer(1000, new ActionListener() {
-                    public void actionPerformed(ActionEvent evt) {
-                        bellLabel.setIcon(bell[0]);
-                        setAllRandomCards(backCard);
-                        setAllBackCards(backCard);
-                        usedIndexes.clear();
-                    }
-                });
-                timer.setRepeats(false);
-                timer.start();
+                // 종을 1초간 울린 뒤 카드를 초기화
+                board.ringBell();
             }
         });
 
         // 전체 레이아웃 구성
-        c.add(mainPanel, BorderLayout.CENTER);
+        c.add(board, BorderLayout.CENTER);
         c.add(buttonPanel, BorderLayout.SOUTH);
 
         setLocationRelativeTo(null);
         setVisible(true);
     }
 
-    // 카드 섹션을 생성하는 헬퍼 메소드
-    protected JPanel createCardSection(JLabel randomCard, JLabel backCard) {
-        JPanel section = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
-        section.setBackground(Color.BLACK);
-        section.add(randomCard);
-        section.add(backCard);
-        return section;
-    }
-
-    // 모든 랜덤 카드 이미지 설정
-    protected void setAllRandomCards(ImageIcon image) {
-        topLeftRandomCard.setIcon(image);
-        topRightRandomCard.setIcon(image);
-        bottomLeftRandomCard.setIcon(image);
-        bottomRightRandomCard.setIcon(image);
-    }
-
-    // 모든 뒷면 카드 이미지 설정
-    protected void setAllBackCards(ImageIcon image) {
-        topLeftBackCard.setIcon(image);
-        topRightBackCard.setIcon(image);
-        bottomLeftBackCard.setIcon(image);
-        bottomRightBackCard.setIcon(image);
+    @Override
+    public void dispose() {
+        if (PAINT_STATS) {
+            System.out.println(board.paintStats());
+        }
+        super.dispose();
     }
 
  // 뒷면 이미지를 제외한 랜덤 이미지를 가져옴
@@ -47,6 +47,8 @@ public class CardGameLogin extends JFrame {
      UI 컴포넌트 초기화 및 서버 정보 로드
     */
     private CardGameLogin() {
+        // 접속 정보를 입력하는 동안 게임 화면의 카드 이미지를 미리 읽음
+        CardImages.preload();
         initializeComponents();
         loadServerInfo();
     }
@@ -214,6 +216,10 @@ public class CardGameLogin extends JFrame {
             JOptionPane.showMessageDialog(this, "사용자 이름을 입력하세요.", "경고", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        if (!GameProtocol.isValidName(username)) {
+            JOptionPane.showMessageDialog(this, "사용자 이름이 너무 깁니다. (최대 " + GameProtocol.MAX_NAME_BYTES + "바이트)", "경고", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
 
         // 로그인 창 숨기기 및 게임 클라이언트 생성
         setVisible(false);
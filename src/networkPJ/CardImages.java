@@ -0,0 +1,185 @@
+package networkPJ;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ 클라이언트 전체에서 공유하는 카드 이미지 캐시
+ 처음 사용할 때 한 번만 백그라운드에서 카드 크기로 미리 줄여 둔 아틀라스(CardAtlas)를 읽어 잘라 두고
+ (아틀라스가 없거나 빠진 이미지는 원본 PNG를 백그라운드 스레드들에서 병렬로 읽고 줄임)
+ 이후에는 같은 ImageIcon을 돌려주므로 게임 화면을 다시 열어도(재로그인) 이미지를 다시 읽지 않음
+ 로그인 화면에서 preload()를 불러 두면 사용자가 접속 정보를 입력하는 동안 읽기가 끝남
+ 카드 이미지는 카드 번호를 가진 CardIcon이라 아이콘에서 번호를 찾을 때 배열을 뒤지지 않음
+*/
+final class CardImages {
+    static final int WIDTH = 100;
+    static final int HEIGHT = 100;
+
+    private static final String DIR = "networkImage/";
+    private static final String BACK = "카드뒷면.png";
+    private static final String[] BELLS = {"종 멈춤.png", "종 움직임.png"}; // 0: 멈춤, 1: 움직임
+
+    // 카드 번호별 이미지, 그 뒤에 뒷면과 종 이미지 (preload() 전에는 null)
+    private static volatile CompletableFuture<ImageIcon>[] icons;
+
+    private CardImages() {
+    }
+
+    // 카드 번호를 함께 가진 카드 이미지
+    static final class CardIcon extends ImageIcon {
+        private static final long serialVersionUID = 1L;
+
+        final int cardId;
+
+        CardIcon(Image image, int cardId) {
+            super(image);
+            this.cardId = cardId;
+        }
+    }
+
+    // 아직 시작하지 않았으면 모든 이미지 읽기를 백그라운드에서 시작 (바로 반환)
+    static void preload() {
+        loadAll();
+    }
+
+    // 카드 번호에 해당하는 이미지 (읽기가 끝나지 않았으면 기다림)
+    static ImageIcon card(int cardId) {
+        return loadAll()[cardId].join();
+    }
+
+    // 카드 번호 순서의 모든 카드 이미지 (배열은 호출마다 새로 만들고 ImageIcon은 공유)
+    static ImageIcon[] cards() {
+        ImageIcon[] result = new ImageIcon[CardCatalog.SIZE];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = card(i);
+        }
+        return result;
+    }
+
+    static ImageIcon back() {
+        return loadAll()[CardCatalog.SIZE].join();
+    }
+
+    // 종 이미지 (0: 멈춤, 1: 움직임)
+    static ImageIcon bell(int state) {
+        return loadAll()[CardCatalog.SIZE + 1 + state].join();
+    }
+
+    // 아틀라스에 담을 이미지 파일 이름 (카드 번호 순서, 그 뒤에 뒷면과 종)
+    static String[] assetFiles() {
+        String[] files = new String[CardCatalog.SIZE + 1 + BELLS.length];
+        for (int i = 0; i < CardCatalog.SIZE; i++) {
+            files[i] = CardCatalog.get(i).fileName;
+        }
+        files[CardCatalog.SIZE] = BACK;
+        System.arraycopy(BELLS, 0, files, CardCatalog.SIZE + 1, BELLS.length);
+        return files;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // 제네릭 배열은 raw 배열로만 만들 수 있음
+    private static CompletableFuture<ImageIcon>[] loadAll() {
+        CompletableFuture<ImageIcon>[] loaded = icons;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (CardImages.class) {
+            if (icons == null) {
+                String[] files = assetFiles();
+                ExecutorService loader = newLoader();
+                CompletableFuture<CardAtlas> atlas = CompletableFuture.supplyAsync(CardImages::readAtlas, loader);
+                CompletableFuture<ImageIcon>[] futures = new CompletableFuture[files.length];
+                for (int i = 0; i < files.length; i++) {
+                    String file = files[i];
+                    int cardId = i < CardCatalog.SIZE ? i : -1;
+                    futures[i] = atlas.thenCompose(a -> {
+                        BufferedImage sprite = a != null ? a.get(file) : null;
+                        if (sprite != null) {
+                            return CompletableFuture.completedFuture(icon(sprite, cardId));
+                        }
+                        return CompletableFuture.supplyAsync(() -> load(file, cardId), loader);
+                    });
+                }
+                // 읽기가 모두 끝나면 스레드도 끝나도록 shutdown
+                CompletableFuture.allOf(futures).whenComplete((result, e) -> loader.shutdown());
+                icons = futures;
+            }
+            return icons;
+        }
+    }
+
+    private static CardAtlas readAtlas() {
+        try {
+            return CardAtlas.read();
+        } catch (IOException e) {
+            System.err.println("아틀라스 읽기 오류, 원본 이미지를 사용합니다: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ImageIcon icon(Image image, int cardId) {
+        return cardId >= 0 ? new CardIcon(image, cardId) : new ImageIcon(image);
+    }
+
+    // CPU 수만큼(최대 4개)의 데몬 스레드 (이미지 읽기 때문에 프로그램 종료가 늦어지지 않도록)
+    private static ExecutorService newLoader() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "card-image-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /*
+     PNG 하나를 읽어 카드 크기로 줄인 이미지 (카드면 CardIcon, 찾을 수 없으면 null)
+     원본(약 1000x1400)을 SCALE_SMOOTH(면적 평균)로 한 번에 줄이면 이미지마다 100ms 가까이 걸리므로
+     절반씩 bilinear로 줄여 가다 마지막에 목표 크기로 맞춤 (면적 평균과 거의 같은 결과를 수십 배 빠르게)
+    */
+    private static ImageIcon load(String file, int cardId) {
+        URL url = CardImages.class.getClassLoader().getResource(DIR + file);
+        if (url == null) {
+            System.err.println("이미지를 찾을 수 없습니다: " + DIR + file);
+            return null;
+        }
+        try {
+            BufferedImage source = ImageIO.read(url);
+            if (source == null) {
+                System.err.println("이미지 형식을 읽을 수 없습니다: " + DIR + file);
+                return null;
+            }
+            return icon(scale(source, WIDTH, HEIGHT), cardId);
+        } catch (IOException e) {
+            System.err.println("이미지 읽기 오류: " + DIR + file + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    // 단계별 절반 축소 후 목표 크기로 bilinear 축소
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+}
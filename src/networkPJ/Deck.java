@@ -0,0 +1,41 @@
+package networkPJ;
+
+import java.util.SplittableRandom;
+
+/*
+ 게임방 하나가 소유하는 카드 덱 (서버가 카드를 정함)
+ CardCatalog의 카드 번호 27장을 int 배열에 담고 뽑을 때마다 Fisher-Yates 한 단계만 수행하여
+ 뽑기 한 번이 O(1)이고, 다 뽑으면 같은 배열을 처음부터 다시 섞어 사용
+ 같은 시드면 같은 순서로 카드가 나오므로 부하 테스트와 게임 재현에 사용 가능
+*/
+final class Deck {
+    private final int[] cards = new int[CardCatalog.SIZE];
+    private final SplittableRandom random;
+    private final long seed;
+    private int next; // 아직 뽑지 않은 카드의 시작 위치
+
+    Deck(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = i;
+        }
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    // 남은 카드 중 하나를 무작위로 뽑음
+    int draw() {
+        if (next == cards.length) {
+            next = 0; // 한 벌을 다 쓰면 다시 섞음
+        }
+        int pick = next + random.nextInt(cards.length - next);
+        int card = cards[pick];
+        cards[pick] = cards[next];
+        cards[next] = card;
+        next++;
+        return card;
+    }
+}
@@ -0,0 +1,57 @@
+package networkPJ;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ 화면 애니메이션이 함께 쓰는 프레임 시계 (이벤트 디스패치 스레드 전용)
+ 애니메이션마다 Swing Timer를 새로 만들지 않고 타이머 하나가 약 60fps로 등록된 애니메이션을 모두 진행시킴
+ 진행 중인 애니메이션이 없으면 타이머를 멈춰 대기 중에는 아무 일도 하지 않음
+*/
+final class FrameClock {
+    private static final int FRAME_MILLIS = 16;
+
+    // 프레임마다 호출되는 애니메이션 (false를 반환하면 끝난 것으로 보고 등록 해제)
+    interface Animation {
+        boolean onFrame(long now);
+    }
+
+    private static final List<Animation> animations = new ArrayList<>();
+    private static Timer timer;
+
+    private FrameClock() {
+    }
+
+    // 애니메이션 등록 (이미 등록되어 있으면 그대로)
+    static void start(Animation animation) {
+        if (!animations.contains(animation)) {
+            animations.add(animation);
+        }
+        if (timer == null) {
+            timer = new Timer(FRAME_MILLIS, e -> tick());
+            timer.setCoalesce(true);
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    // 애니메이션 등록 해제 (창을 닫을 때 등)
+    static void stop(Animation animation) {
+        animations.remove(animation);
+    }
+
+    // 콜백 안에서 등록/해제해도 되도록 복사본을 돌며 진행
+    private static void tick() {
+        long now = System.nanoTime();
+        for (Animation animation : animations.toArray(new Animation[0])) {
+            if (!animation.onFrame(now)) {
+                animations.remove(animation);
+            }
+        }
+        if (animations.isEmpty()) {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package networkPJ;
+
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/*
+ 게임판 컴포넌트 (네 좌석의 뒤집힌 카드와 카드 더미, 가운데 종)
+ 레이블 여러 개의 아이콘을 바꾸는 대신 상태(좌석별 카드 번호, 종 애니메이션)만 바꾸고
+ 바뀐 영역만 다시 그리도록 요청 (Swing의 더블 버퍼에 그려지므로 깜빡임 없음)
+ 종 애니메이션은 공유 FrameClock으로 진행하고, 매 프레임 그리는 데 걸린 시간을 기록
+ 모든 메서드는 이벤트 디스패치 스레드에서만 호출
+*/
+final class GameBoard extends JComponent implements FrameClock.Animation {
+    private static final long serialVersionUID = 1L;
+
+    static final int EMPTY = -1; // 뒤집힌 카드 없음 (뒷면 표시)
+
+    // 배치 (기존 GridBagLayout 배치와 같은 크기)
+    private static final int CARD = CardImages.WIDTH;
+    private static final int GAP = 10;                        // 좌석 안 카드 간격
+    private static final int INSET = 10;                      // 칸 바깥 여백
+    private static final int SECTION_W = GAP * 3 + CARD * 2;  // 좌석 하나 (앞면 + 더미)
+    private static final int SECTION_H = GAP * 2 + CARD;
+    private static final int SIDE_W = SECTION_W + INSET * 2;  // 왼쪽/오른쪽 열 너비
+    private static final int SIDE_H = SECTION_H + INSET * 2;  // 위/아래 행 높이
+    private static final int MIDDLE = CARD + INSET * 2;       // 가운데(종) 열 너비, 행 높이
+    private static final int WIDTH = SIDE_W * 2 + MIDDLE;
+    private static final int HEIGHT = SIDE_H * 2 + MIDDLE;
+
+    // 종 애니메이션: 1초 동안 울리는 이미지, 처음 잠깐은 좌우로 흔들림
+    private static final long RING_NANOS = 1_000_000_000L;
+    private static final long SHAKE_NANOS = 300_000_000L;
+    private static final int SHAKE_PIXELS = 4;
+
+    private final int[] cards = new int[GameRoom.SEATS];
+    private final int[] shownSeq = new int[GameRoom.SEATS]; // 좌석 카드를 바꾼 순번
+    private int seq;
+    private long ringUntil;   // 종이 멈출 시각 (울리지 않으면 0)
+    private int ringSeq;      // 종이 울린 시점의 순번 (이후에 뒤집힌 카드는 종이 멈춰도 남김)
+    private int bellShake;    // 현재 종의 x 이동량
+
+    // 프레임별 그리기 시간
+    private long frames;
+    private long paintNanos;
+    private long maxPaintNanos;
+
+    GameBoard() {
+        Arrays.fill(cards, EMPTY);
+        setOpaque(true);
+        setDoubleBuffered(true);
+        setPreferredSize(new Dimension(WIDTH, HEIGHT));
+    }
+
+    // 좌석의 뒤집힌 카드 변경 (EMPTY이면 뒷면)
+    void showCard(int seat, int cardId) {
+        if (seat < 0 || seat >= cards.length) {
+            return;
+        }
+        cards[seat] = cardId;
+        shownSeq[seat] = ++seq;
+        repaint(faceBounds(seat));
+    }
+
+    // 모든 좌석을 뒷면으로
+    void clear() {
+        Arrays.fill(cards, EMPTY);
+        repaint();
+    }
+
+    /*
+     종 울림 표시 후 1초 뒤 판 정리
+     그 사이에 새로 뒤집힌 카드는 다음 라운드의 카드이므로 지우지 않음
+    */
+    void ringBell() {
+        ringSeq = seq;
+        ringUntil = System.nanoTime() + RING_NANOS;
+        repaint(bellBounds());
+        FrameClock.start(this);
+    }
+
+    @Override
+    public boolean onFrame(long now) {
+        if (ringUntil == 0) {
+            return false;
+        }
+        if (now - ringUntil >= 0) {
+            ringUntil = 0;
+            bellShake = 0;
+            for (int seat = 0; seat < cards.length; seat++) {
+                if (cards[seat] != EMPTY && shownSeq[seat] <= ringSeq) {
+                    cards[seat] = EMPTY;
+                    repaint(faceBounds(seat));
+                }
+            }
+            repaint(bellBounds());
+            return false;
+        }
+        long elapsed = now - (ringUntil - RING_NANOS);
+        int shake = elapsed < SHAKE_NANOS ? (int) Math.round(SHAKE_PIXELS * Math.sin(elapsed / 20_000_000.0 * Math.PI)) : 0;
+        if (shake != bellShake) {
+            bellShake = shake;
+            repaint(bellBounds());
+        }
+        return true;
+    }
+
+    // 창을 닫을 때 진행 중인 애니메이션 정리
+    @Override
+    public void removeNotify() {
+        FrameClock.stop(this);
+        super.removeNotify();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(Color.BLACK);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        ImageIcon back = CardImages.back();
+        for (int seat = 0; seat < cards.length; seat++) {
+            Rectangle face = faceBounds(seat);
+            if (clip.intersects(face)) {
+                paint(g, cards[seat] != EMPTY ? CardImages.card(cards[seat]) : back, face.x, face.y);
+            }
+            Rectangle pile = pileBounds(seat);
+            if (clip.intersects(pile)) {
+                paint(g, back, pile.x, pile.y);
+            }
+        }
+        Rectangle bell = bellBounds();
+        if (clip.intersects(bell)) {
+            paint(g, CardImages.bell(ringUntil != 0 ? 1 : 0), bell.x + SHAKE_PIXELS + bellShake, bell.y);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        frames++;
+        paintNanos += elapsed;
+        maxPaintNanos = Math.max(maxPaintNanos, elapsed);
+    }
+
+    private void paint(Graphics g, ImageIcon icon, int x, int y) {
+        if (icon != null) {
+            icon.paintIcon(this, g, x, y);
+        }
+    }
+
+    // 그리기 시간 요약
+    String paintStats() {
+        return String.format("게임판 프레임 %d개, 평균 %.3f ms, 최대 %.3f ms",
+                frames, frames > 0 ? paintNanos / 1e6 / frames : 0.0, maxPaintNanos / 1e6);
+    }
+
+    // 배치를 가운데 정렬했을 때의 왼쪽 위 좌표
+    private int originX() {
+        return Math.max(0, (getWidth() - WIDTH) / 2);
+    }
+
+    private int originY() {
+        return Math.max(0, (getHeight() - HEIGHT) / 2);
+    }
+
+    // 좌석의 뒤집힌 카드 영역 (좌석 번호 = GameProtocol.POSITIONS 인덱스)
+    private Rectangle faceBounds(int seat) {
+        int x = originX() + (seat % 2 == 0 ? 0 : SIDE_W + MIDDLE) + INSET + GAP;
+        int y = originY() + (seat < 2 ? 0 : SIDE_H + MIDDLE) + INSET + GAP;
+        return new Rectangle(x, y, CARD, CARD);
+    }
+
+    // 좌석의 카드 더미(뒷면) 영역
+    private Rectangle pileBounds(int seat) {
+        Rectangle face = faceBounds(seat);
+        face.x += CARD + GAP;
+        return face;
+    }
+
+    // 종 영역 (흔들림 폭 포함)
+    private Rectangle bellBounds() {
+        return new Rectangle(originX() + SIDE_W + INSET - SHAKE_PIXELS, originY() + SIDE_H + INSET,
+                CARD + SHAKE_PIXELS * 2, CARD);
+    }
+}
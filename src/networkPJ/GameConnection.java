@@ -0,0 +1,30 @@
+package networkPJ;
+
+// 게임방이 메시지를 보내는 클라이언트 연결
+interface GameConnection {
+    // 메시지 전송
+    void sendMessage(GameMessage message);
+
+    /*
+     flush()까지 전송을 미루는 메시지 추가
+     게임방은 명령 하나가 만든 메시지를 모두 넣은 뒤 flush()를 한 번 호출하므로
+     전송 담당이 메시지들을 한 번의 쓰기(시스템 콜 하나, 가능하면 TCP 세그먼트 하나)로 보낼 수 있음
+    */
+    default void queueMessage(GameMessage message) {
+        sendMessage(message);
+    }
+
+    // queueMessage로 쌓인 메시지 전송 요청
+    default void flush() {
+    }
+
+    // 연결 종료
+    void closeConnection();
+
+    /*
+     로비가 배정한 방 (로비가 방에 좌석을 요청하기 전에 호출)
+     방은 좌석을 잡는 즉시 연결을 닫을 수 있으므로, 연결은 이 시점부터 퇴장을 알릴 방을 알고 있어야 함
+    */
+    default void assigned(GameRoom room) {
+    }
+}
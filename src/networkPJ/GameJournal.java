@@ -0,0 +1,237 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ 게임방별 이벤트 저널 관리자
+ 서버 실행마다 저널 폴더 아래에 실행 폴더를 만들고, 방마다 RoomJournal이 그 안에 세그먼트 파일을 씀
+ 방은 메모리 매핑된 세그먼트에 기록을 복사하기만 하고(시스템 콜 없음), 디스크 동기화(force)는
+ 동기화 스레드 하나가 syncMillis마다 그 사이에 쓰인 모든 방의 기록을 한 번에 처리 (그룹 커밋)
+ 세그먼트 파일을 만들고 매핑하거나 다 쓴 세그먼트의 매핑을 푸는 일도 동기화 스레드가 맡음 (방 실행기는 파일을 열지 않음)
+ 열린 매핑 수는 maxMappings로 제한 (프로세스 매핑 수 한도 vm.max_map_count를 넘기 전에 새 세그먼트만 실패)
+ 서버 프로세스가 죽어도 매핑된 페이지는 커널에 남으므로 기록이 보존되고,
+ 운영체제가 죽으면 마지막 동기화 이후 syncMillis 이내의 기록만 잃을 수 있음
+
+ 세그먼트 파일 형식 (room-<방 번호>-<세그먼트 번호>.hgj, 빅 엔디언, 파일 크기 = 세그먼트 크기)
+   헤더 32바이트: 매직 "HGJ1", 버전 u16, 헤더 크기 u16, 방 번호 i32, 세그먼트 번호 i32, 덱 시드 i64, 생성 시각 ms i64
+   기록: 길이 u16 (기록 전체 바이트 수, 0이면 데이터 끝), 종류 u8, 좌석 u8 (없으면 0xFF),
+         시각 ms i64, 라운드 i64, 값 i32, 부가 값 i32, [JOIN: 이름 길이 u16 + UTF-8 이름]
+   기록은 내용을 먼저 쓰고 길이를 마지막에 써서, 쓰다 만 기록은 읽을 때 데이터 끝으로 보임
+*/
+final class GameJournal {
+    static final int MAGIC = 0x48474A31; // "HGJ1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 28;   // 이름을 제외한 기록 크기
+    static final int MAX_NAME_BYTES = 0xFFFF - RECORD_SIZE - 2; // 기록 길이가 u16에 들어가도록
+    static final int NO_SEAT = 0xFF;
+
+    // 기록 종류 (값 / 부가 값)
+    static final int JOIN = 1;          // 입장 (0 / 0, 이름 포함)
+    static final int FLIP = 2;          // 카드 뒤집기 (카드 번호 / 0)
+    static final int BELL_AWARD = 3;    // 맞는 종 (새 점수 / 종이 도착했을 때 판의 BellTable 인덱스), 판정 후 나갔으면 좌석 없음
+    static final int BELL_PENALTY = 4;  // 틀린 종 (새 점수 / 종이 도착했을 때 판의 BellTable 인덱스), 라운드는 도착 시점
+    static final int LEAVE = 5;         // 퇴장 (0 / 0)
+    // 6은 예전의 SCORE_SET(클라이언트가 보낸 점수) 자리, 점수는 서버만 정하므로 더 쓰지 않음 (재사용 금지)
+    static final int GAME_OVER = 7;     // 승리 (점수 / 0)
+
+    private static final DateTimeFormatter RUN_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // 매핑을 바로 푸는 sun.misc.Unsafe.invokeCleaner (쓸 수 없으면 null, 그때는 GC가 버퍼를 거둘 때 풀림)
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path dir;          // 이번 실행의 저널 폴더
+    private final int segmentSize;
+    private final long syncMillis;
+    private final int maxMappings;   // 동시에 열어 둘 세그먼트 매핑 수 한도
+    private final ServerLog log;
+    private final CopyOnWriteArrayList<RoomJournal> rooms = new CopyOnWriteArrayList<>();
+    private final Thread syncThread;
+    private volatile boolean running = true;
+
+    // 지표
+    private final AtomicLong syncs = new AtomicLong();      // 동기화 스레드가 force를 부른 횟수
+    private final AtomicLong segments = new AtomicLong();   // 쓰기 시작한 세그먼트 수
+    private final AtomicLong loopCreated = new AtomicLong(); // 미리 만들어 두지 못해 방 실행기가 직접 만든 세그먼트 수
+    private final AtomicInteger mappings = new AtomicInteger(); // 열린 매핑 수
+    private final LongAdder events = new LongAdder();       // 쓴 기록 수 (방 실행기마다 따로 더함)
+
+    private GameJournal(Path dir, int segmentSize, long syncMillis, int maxMappings, ServerLog log) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.syncMillis = syncMillis;
+        this.maxMappings = maxMappings;
+        this.log = log;
+        this.syncThread = new Thread(this::syncLoop, "journal-sync");
+        this.syncThread.setDaemon(true);
+    }
+
+    // 저널 폴더 아래에 이번 실행 폴더를 만들고 동기화 스레드 시작
+    static GameJournal open(Path baseDir, int segmentSize, long syncMillis, int maxMappings, ServerLog log) throws IOException {
+        if (segmentSize < HEADER_SIZE + 0xFFFF + 2) {
+            throw new IllegalArgumentException("저널 세그먼트 크기가 너무 작습니다: " + segmentSize);
+        }
+        if (syncMillis <= 0) {
+            throw new IllegalArgumentException("저널 동기화 간격은 1ms 이상이어야 합니다: " + syncMillis);
+        }
+        if (maxMappings <= 0) {
+            throw new IllegalArgumentException("저널 매핑 수 한도는 1 이상이어야 합니다: " + maxMappings);
+        }
+        Files.createDirectories(baseDir);
+        String name = LocalDateTime.now().format(RUN_NAME);
+        Path dir = baseDir.resolve(name);
+        for (int suffix = 1; ; suffix++) {
+            try {
+                Files.createDirectory(dir);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                dir = baseDir.resolve(name + "-" + suffix);
+            }
+        }
+        GameJournal journal = new GameJournal(dir, segmentSize, syncMillis, maxMappings, log);
+        journal.syncThread.start();
+        return journal;
+    }
+
+    // 방 하나의 저널 (동기화 스레드를 깨워 첫 세그먼트를 바로 만들어 둠)
+    RoomJournal room(int roomId, long seed) {
+        RoomJournal room = new RoomJournal(this, roomId, seed);
+        rooms.add(room);
+        LockSupport.unpark(syncThread);
+        return room;
+    }
+
+    Path getDirectory() {
+        return dir;
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    int getMaxMappings() {
+        return maxMappings;
+    }
+
+    // 세그먼트 파일 경로
+    Path segmentPath(int roomId, int segment) {
+        return dir.resolve(String.format("room-%06d-%04d.hgj", roomId, segment));
+    }
+
+    // 매핑 하나를 열 수 있으면 수를 세고 true (한도에 도달했으면 false)
+    boolean acquireMapping() {
+        int current;
+        do {
+            current = mappings.get();
+            if (current >= maxMappings) {
+                return false;
+            }
+        } while (!mappings.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // 매핑을 풀고 수를 줄임 (buffer가 null이면 매핑하지 못한 자리만 돌려줌)
+    void releaseMapping(MappedByteBuffer buffer) {
+        if (buffer != null && INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 풀지 못한 매핑은 GC가 버퍼를 거둘 때 풀림
+            }
+        }
+        mappings.decrementAndGet();
+    }
+
+    void recorded() {
+        events.increment();
+    }
+
+    void segmentStarted() {
+        segments.incrementAndGet();
+    }
+
+    void createdOnLoop() {
+        loopCreated.incrementAndGet();
+    }
+
+    void forced() {
+        syncs.incrementAndGet();
+    }
+
+    void print(String msg) {
+        log.print("[저널] " + msg);
+    }
+
+    // 그룹 커밋: syncMillis마다(새 방이 생기면 바로) 새 기록이 있는 방의 세그먼트를 동기화하고, 닫힌 방은 정리
+    private void syncLoop() {
+        while (running) {
+            LockSupport.parkNanos(syncMillis * 1_000_000L);
+            if (Thread.interrupted()) {
+                break;
+            }
+            syncAll();
+        }
+    }
+
+    private void syncAll() {
+        for (RoomJournal room : rooms) {
+            if (room.sync()) {
+                rooms.remove(room);
+            }
+        }
+    }
+
+    // 동기화 스레드를 멈추고 남은 기록을 모두 동기화 (방 실행기가 멈춘 뒤 호출)
+    void close() {
+        running = false;
+        syncThread.interrupt();
+        try {
+            syncThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (RoomJournal room : rooms) {
+            room.abandon();
+        }
+        syncAll();
+    }
+
+    @Override
+    public String toString() {
+        return "저널 " + dir + " (열린 방 " + rooms.size() + "개, 기록 " + events.sum() + "건, 세그먼트 " + segments.get()
+                + "개 (방 실행기가 직접 만든 것 " + loopCreated.get() + "개), 열린 매핑 " + mappings.get() + "개, 동기화 "
+                + syncs.get() + "회)";
+    }
+}
@@ -0,0 +1,225 @@
+package networkPJ;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ 새로 접속한 연결을 게임방에 배정하는 로비
+ 빈 좌석이 있는 방을 먼저 채우고, 없으면 새 방을 만들어 배정
+ 모든 플레이어가 나간 방은 목록에서 제거
+ 방마다 차지된 좌석 수를 로비가 직접 세므로 배정할 때 방 상태를 읽지 않음
+ 모든 방은 공유 스레드 풀 위의 직렬 실행기에서 돌아감
+ 방마다 덱 시드를 로비의 시드 생성기에서 받으므로 로비 시드를 고정하면 전체 게임을 재현 가능
+ 서버 지표(metrics)도 로비가 가지고 있어 게임방과 네트워크 방식이 같은 지표에 기록
+ 저널(journal)을 주면 방마다 이벤트 저널을 열어 줌
+ 플레이어 전적 저장소(playerStats)도 로비가 가지고 있어 모든 방이 같은 저장소에 기록
+
+ 재접속 대기 시간(resumeGraceMillis)이 있으면 방이 로그인한 플레이어마다 재접속 토큰을 발급해 로비에 등록
+ 연결이 끊긴 플레이어의 좌석은 대기 시간 동안 방이 잡아 두고, 새 연결이 토큰을 보내면
+ 토큰 → 방 해시 맵에서 방을 바로 찾아 넘김 (방 수와 무관하게 한 번의 조회)
+*/
+final class GameLobby {
+    private final ServerLog log;
+    private final int maxRooms; // 최대 방 수 (0이면 제한 없음)
+    private final Executor roomPool; // 방 직렬 실행기들이 공유하는 스레드 풀
+    private final SplittableRandom seeds; // 방별 덱 시드 생성기
+    private final ServerMetrics metrics = new ServerMetrics();
+    private final GameJournal journal; // 게임 이벤트 저널 (사용하지 않으면 null)
+    private final PlayerStatsStore playerStats; // 플레이어 전적 저장소 (사용하지 않으면 PlayerStatsStore.DISABLED)
+    private final long resumeGraceMillis; // 연결이 끊긴 플레이어의 좌석을 잡아 두는 시간 (0이면 바로 비움)
+    private final Map<String, GameRoom> sessions = new ConcurrentHashMap<>(); // 재접속 토큰 → 좌석을 가진 방
+    private final SecureRandom tokenRandom = new SecureRandom();
+    private final ScheduledExecutorService resumeTimer; // 좌석 유지 만료 타이머 (대기 시간이 0이면 null, close까지 유지)
+    private volatile boolean closed; // close 호출 뒤 (타이머가 멈춤)
+
+    private final Map<GameRoom, Integer> seatCounts = new HashMap<>(); // 방별 차지된 좌석 수 (배정 대기 포함)
+    private final Set<GameRoom> openRooms = new LinkedHashSet<>(); // 빈 좌석이 있는 방 (생성 순서)
+    private int nextRoomId = 1;
+
+    // 화면 있는 서버의 기본 재접속 대기 시간
+    static final long DEFAULT_RESUME_GRACE_MILLIS = 30_000;
+
+    GameLobby(ServerLog log, int maxRooms) {
+        this(log, maxRooms, newRoomPool(Runtime.getRuntime().availableProcessors()), new SplittableRandom().nextLong(),
+                null, PlayerStatsStore.DISABLED, DEFAULT_RESUME_GRACE_MILLIS);
+    }
+
+    GameLobby(ServerLog log, int maxRooms, Executor roomPool) {
+        this(log, maxRooms, roomPool, new SplittableRandom().nextLong());
+    }
+
+    GameLobby(ServerLog log, int maxRooms, Executor roomPool, long seed) {
+        this(log, maxRooms, roomPool, seed, null);
+    }
+
+    GameLobby(ServerLog log, int maxRooms, Executor roomPool, long seed, GameJournal journal) {
+        this(log, maxRooms, roomPool, seed, journal, PlayerStatsStore.DISABLED);
+    }
+
+    GameLobby(ServerLog log, int maxRooms, Executor roomPool, long seed, GameJournal journal, PlayerStatsStore playerStats) {
+        this(log, maxRooms, roomPool, seed, journal, playerStats, 0);
+    }
+
+    GameLobby(ServerLog log, int maxRooms, Executor roomPool, long seed, GameJournal journal, PlayerStatsStore playerStats,
+            long resumeGraceMillis) {
+        this.log = log;
+        this.maxRooms = maxRooms;
+        this.roomPool = roomPool;
+        this.seeds = new SplittableRandom(seed);
+        this.journal = journal;
+        this.playerStats = playerStats;
+        this.resumeGraceMillis = resumeGraceMillis;
+        this.resumeTimer = resumeGraceMillis > 0 ? Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "resume-timer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        metrics.setRoomCount(this::roomCount);
+    }
+
+    // CPU 수만큼의 데몬 스레드로 방 실행용 풀 생성
+    static ExecutorService newRoomPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "room-loop-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 연결을 빈 좌석에 배정하고 배정된 방을 반환 (방 수 제한에 걸리면 null)
+    synchronized GameRoom assign(GameConnection connection) {
+        GameRoom room;
+        Iterator<GameRoom> it = openRooms.iterator();
+        if (it.hasNext()) {
+            room = it.next();
+        } else {
+            if (maxRooms > 0 && seatCounts.size() >= maxRooms) {
+                return null;
+            }
+            long seed = seeds.nextLong();
+            int roomId = nextRoomId++;
+            room = new GameRoom(roomId, this, log, roomPool, seed,
+                    journal != null ? journal.room(roomId, seed) : RoomJournal.DISABLED);
+            seatCounts.put(room, 0);
+            openRooms.add(room);
+            log.print("[방 " + room.getRoomId() + "] 새 게임방이 생성되었습니다. (전체 방 수: " + seatCounts.size() + ", 덱 시드: " + seed + ")");
+        }
+
+        int seats = seatCounts.get(room) + 1;
+        seatCounts.put(room, seats);
+        if (seats == GameRoom.SEATS) {
+            openRooms.remove(room);
+        }
+        connection.assigned(room);
+        room.seat(connection);
+        return room;
+    }
+
+    // 방의 좌석이 비었을 때 방 실행기에서 호출 (빈 방은 제거, 아니면 배정 대상에 추가, 방이 닫혔으면 true)
+    synchronized boolean seatFreed(GameRoom room) {
+        Integer seats = seatCounts.get(room);
+        if (seats == null) {
+            return false; // 이미 닫힌 방
+        }
+        if (seats == 1) {
+            seatCounts.remove(room);
+            openRooms.remove(room);
+            log.print("[방 " + room.getRoomId() + "] 게임방이 닫혔습니다. (전체 방 수: " + seatCounts.size() + ")");
+            return true;
+        }
+        seatCounts.put(room, seats - 1);
+        openRooms.add(room);
+        return false;
+    }
+
+    ServerMetrics metrics() {
+        return metrics;
+    }
+
+    PlayerStatsStore playerStats() {
+        return playerStats;
+    }
+
+    long resumeGraceMillis() {
+        return resumeGraceMillis;
+    }
+
+    // 방의 플레이어에게 줄 재접속 토큰 발급 (추측할 수 없는 128비트 난수)
+    String openSession(GameRoom room) {
+        byte[] bytes = new byte[16];
+        tokenRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, room);
+        return token;
+    }
+
+    // 토큰의 좌석을 가진 방 (없거나 만료되었으면 null)
+    GameRoom sessionRoom(String token) {
+        return token != null ? sessions.get(token) : null;
+    }
+
+    // 플레이어가 좌석을 완전히 떠나면 토큰 폐기
+    void closeSession(String token) {
+        sessions.remove(token);
+    }
+
+    // 재접속 대기 시간이 지나면 task 실행 (방은 task에서 자신의 실행기에 명령을 제출)
+    void afterResumeGrace(Runnable task) {
+        try {
+            resumeTimer.schedule(task, resumeGraceMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (!closed) {
+                throw e;
+            }
+            // 로비를 닫는 중 (남은 방은 버려지므로 좌석을 비울 필요 없음)
+        }
+    }
+
+    // 현재 방 수
+    synchronized int roomCount() {
+        return seatCounts.size();
+    }
+
+    /*
+     모든 방의 연결 종료 (화면 있는 서버는 서버를 중지할 때마다 호출하고 같은 로비로 다시 시작)
+     방마다 재접속 토큰을 먼저 폐기하므로 잡아 둔 좌석이 없고, 이미 걸린 만료 타이머는 실행되어도 무시됨
+    */
+    void closeAll() {
+        List<GameRoom> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(seatCounts.keySet());
+            seatCounts.clear();
+            openRooms.clear();
+        }
+        for (GameRoom room : snapshot) {
+            room.closeAll();
+        }
+        sessions.clear();
+    }
+
+    // 모든 방의 연결을 종료하고 만료 타이머도 멈춤 (프로세스를 끝낼 때 한 번 호출, 이후 로비를 다시 쓰지 않음)
+    void close() {
+        closed = true;
+        closeAll();
+        if (resumeTimer != null) {
+            resumeTimer.shutdownNow();
+        }
+    }
+}
@@ -1,35 +1,34 @@
 package networkPJ;
-import javax.swing.ImageIcon;
-import java.io.Serializable;
 
 /*
  네트워크 카드 게임에서 사용되는 메시지 클래스
- 게임 상태와 이벤트를 직렬화하여 네트워크를 통해 전송
- Serializable 인터페이스를 구현하여 객체 직렬화 지원
+ 게임 상태와 이벤트를 GameProtocol의 바이너리 프레임으로 전송
+ 카드는 이미지 대신 카드 번호로 표현하고 각 클라이언트가 로컬 이미지로 변환
 */
-public class GameMessage implements Serializable {
-    
-   // 직렬화 버전 UID
-    private static final long serialVersionUID = 1L;
+public class GameMessage {
 
     // 메시지 타입을 정의하는 상수들
     // 게임 내 다양한 이벤트와 상태 변화를 나타냄
     public static final int LOGIN = 1;           // 로그인 메시지
     public static final int POSITION = 2;        // 클라이언트 위치 메시지
-    public static final int FLIP_CARD = 3;       // 카드 뒤집기 메시지
+    public static final int FLIP_CARD = 3;       // 카드 뒤집기 (클라이언트 -> 서버: 내용 없는 요청, 서버 -> 클라이언트: 뽑은 카드 번호)
     public static final int RING_BELL = 4;       // 종 치기 메시지
     public static final int TURN_UPDATE = 5;     // 턴 업데이트 메시지
     public static final int SCORE_UPDATE = 6;    // 점수 업데이트 메시지
     public static final int LOGOUT = 7;          // 로그아웃 메시지
     public static final int GAME_OVER = 8;       // 게임 종료 메시지
-    
+    public static final int TOO_LATE = 9;        // 다른 플레이어가 먼저 종을 침 (점수 = 늦은 시간, 마이크로초)
+    public static final int SNAPSHOT = 10;       // 입장한 클라이언트에게 보내는 게임방 전체 상태 (위치 = 자신의 위치)
+    public static final int RESUME_TOKEN = 11;   // 로그인한 클라이언트에게 발급한 재접속 토큰 (아이디 = 토큰, 점수 = 좌석을 잡아 두는 초)
+    public static final int RESUME = 12;         // 재접속 요청 (클라이언트 -> 서버: 아이디 = 토큰, 성공하면 SNAPSHOT 응답), 서버 -> 클라이언트: 실패
+
     // 메시지의 주요 속성들
     private int type;           // 메시지의 유형
     private String clientId;    // 메시지를 보낸 클라이언트의 고유 식별자
     private String position;    // 클라이언트의 게임 내 위치
-    private ImageIcon image;    // 메시지와 함께 전송되는 카드 이미지
     private int score;          // 클라이언트의 현재 점수
-    private String cardImageName; // 카드 이미지의 이름
+    private int cardId = -1;    // 카드 번호 (없으면 -1)
+    private GameSnapshot snapshot; // 게임방 상태 (SNAPSHOT 메시지만)
 
     //기본 메시지 생성자
     public GameMessage(int type, String clientId, String position) {
@@ -38,26 +37,24 @@ public class GameMessage implements Serializable {
         this.position = position;
     }
 
-    //이미지를 포함하는 메시지 생성자
-    public GameMessage(int type, String clientId, String position, ImageIcon image) {
+    //점수 업데이트를 위한 메시지 생성자
+    public GameMessage(int type, String clientId, String position, int score) {
         this.type = type;
         this.clientId = clientId;
         this.position = position;
-        this.image = image;
+        this.score = score;
     }
 
-    //이미지와 이미지 이름을 포함하는 메시지 생성자
-    public GameMessage(int type, String clientId, String position, ImageIcon image, String cardImageName) {
-        this(type, clientId, position, image);
-        this.cardImageName = cardImageName;
+    //점수와 카드 번호를 포함하는 메시지 생성자
+    public GameMessage(int type, String clientId, String position, int score, int cardId) {
+        this(type, clientId, position, score);
+        this.cardId = cardId;
     }
 
-    //점수 업데이트를 위한 메시지 생성자
-    public GameMessage(int type, String clientId, String position, int score) {
-        this.type = type;
-        this.clientId = clientId;
-        this.position = position;
-        this.score = score;
+    //게임방 상태를 포함하는 메시지 생성자
+    GameMessage(int type, String clientId, String position, GameSnapshot snapshot) {
+        this(type, clientId, position);
+        this.snapshot = snapshot;
     }
 
     // Getter 메서드들: 각 속성에 대한 접근자 제공
@@ -71,12 +68,12 @@ public class GameMessage implements Serializable {
     //클라이언트 위치 반환
     public String getPosition() { return position; }
 
-    //메시지의 이미지 반환
-    public ImageIcon getImage() { return image; }
-
     //클라이언트 점수 반환
     public int getScore() { return score; }
 
-    //카드 이미지 이름 반환
-    public String getCardImageName() { return cardImageName; }
-}
\ No newline at end of file
+    //카드 번호 반환
+    public int getCardId() { return cardId; }
+
+    //게임방 상태 반환 (SNAPSHOT이 아니면 null)
+    GameSnapshot getSnapshot() { return snapshot; }
+}
@@ -0,0 +1,242 @@
+package networkPJ;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ GameMessage를 길이 접두 바이너리 프레임으로 변환하는 코덱
+ Java 직렬화 대신 타입, 좌석, 카드 번호만 바이트 단위로 전송
+ 스트림(스레드 방식)과 ByteBuffer(NIO 방식) 양쪽에서 같은 프레임 형식을 사용
+
+ 프레임 구조
+ [본문 길이 u16][버전 u8][타입 u8][좌석 u8][카드 u8][플래그 u8]
+ [점수 i32 (플래그 SCORE)][아이디 길이 u16 + UTF-8 (플래그 CLIENT_ID)]
+ [게임방 상태 (플래그 SNAPSHOT): 턴 u8, 라운드 i64, 좌석 수 u8, 좌석마다 카드 u8 + 점수 i32 + 이름 길이 u16 + UTF-8]
+ (빈 좌석은 이름 길이 0)
+ LOGIN의 아이디는 1~MAX_NAME_BYTES 바이트만 받아 좌석 네 개의 이름을 모두 담은 게임방 상태도 한 프레임에 들어감
+*/
+final class GameProtocol {
+    // 프로토콜 버전 (프레임 구조가 바뀌면 증가)
+    static final int VERSION = 1;
+
+    // 좌석/카드가 없음을 나타내는 값
+    static final int NONE = 0xFF;
+
+    // 길이 접두를 포함한 프레임 최대 크기 (연결별 버퍼 크기의 상한)
+    static final int MAX_FRAME_SIZE = 4096;
+
+    // 플레이어 이름의 UTF-8 최대 바이트 수
+    static final int MAX_NAME_BYTES = 32;
+
+    // 좌석 번호 순서의 위치 이름
+    static final String[] POSITIONS = {"topLeft", "topRight", "bottomLeft", "bottomRight"};
+
+    // 선택 필드 플래그
+    private static final int FLAG_SCORE = 1;
+    private static final int FLAG_CLIENT_ID = 2;
+    private static final int FLAG_SNAPSHOT = 4;
+
+    // 길이 접두와 고정 헤더(버전, 타입, 좌석, 카드, 플래그) 크기
+    private static final int LENGTH_SIZE = 2;
+    private static final int HEADER_SIZE = 5;
+
+    private GameProtocol() {
+    }
+
+    // 위치 이름을 좌석 번호로 변환
+    static int seatOf(String position) {
+        if (position != null) {
+            for (int i = 0; i < POSITIONS.length; i++) {
+                if (POSITIONS[i].equals(position)) {
+                    return i;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    // 로그인에 쓸 수 있는 이름인지 (비어 있지 않고 UTF-8로 MAX_NAME_BYTES 이하)
+    static boolean isValidName(String name) {
+        return name != null && !name.isEmpty() && name.getBytes(StandardCharsets.UTF_8).length <= MAX_NAME_BYTES;
+    }
+
+    // 좌석 번호를 위치 이름으로 변환
+    static String positionOf(int seat) {
+        return seat >= 0 && seat < POSITIONS.length ? POSITIONS[seat] : null;
+    }
+
+    // 메시지를 길이 접두를 포함한 프레임 바이트로 변환
+    static byte[] encode(GameMessage message) throws IOException {
+        int flags = 0;
+        int length = HEADER_SIZE;
+        if (message.getScore() != 0) {
+            flags |= FLAG_SCORE;
+            length += 4;
+        }
+        byte[] id = null;
+        if (message.getClientId() != null) {
+            id = message.getClientId().getBytes(StandardCharsets.UTF_8);
+            flags |= FLAG_CLIENT_ID;
+            length += 2 + id.length;
+        }
+        GameSnapshot snapshot = message.getSnapshot();
+        byte[][] names = null;
+        if (snapshot != null) {
+            flags |= FLAG_SNAPSHOT;
+            names = new byte[snapshot.seats()][];
+            length += 1 + 8 + 1;
+            for (int seat = 0; seat < names.length; seat++) {
+                String name = snapshot.nameAt(seat);
+                names[seat] = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+                length += 1 + 4 + 2 + names[seat].length;
+            }
+        }
+        if (LENGTH_SIZE + length > MAX_FRAME_SIZE) {
+            throw new IOException("메시지가 너무 큽니다: " + length);
+        }
+
+        int cardId = message.getCardId();
+        ByteBuffer frame = ByteBuffer.allocate(LENGTH_SIZE + length);
+        frame.putShort((short) length);
+        frame.put((byte) VERSION);
+        frame.put((byte) message.getType());
+        frame.put((byte) seatOf(message.getPosition()));
+        frame.put((byte) (cardId >= 0 && cardId < NONE ? cardId : NONE));
+        frame.put((byte) flags);
+        if ((flags & FLAG_SCORE) != 0) {
+            frame.putInt(message.getScore());
+        }
+        if (id != null) {
+            frame.putShort((short) id.length);
+            frame.put(id);
+        }
+        if (snapshot != null) {
+            frame.put((byte) snapshot.getTurn());
+            frame.putLong(snapshot.getRound());
+            frame.put((byte) names.length);
+            for (int seat = 0; seat < names.length; seat++) {
+                int card = snapshot.cardAt(seat);
+                frame.put((byte) (card >= 0 && card < NONE ? card : NONE));
+                frame.putInt(snapshot.scoreAt(seat));
+                frame.putShort((short) names[seat].length);
+                frame.put(names[seat]);
+            }
+        }
+        return frame.array();
+    }
+
+    /*
+     버퍼에서 완성된 프레임 하나를 읽어 메시지로 복원
+     프레임이 아직 다 도착하지 않았으면 버퍼를 그대로 두고 null 반환
+    */
+    static GameMessage decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < LENGTH_SIZE) {
+            return null;
+        }
+        int length = buffer.getShort(buffer.position()) & 0xFFFF;
+        checkLength(length);
+        if (buffer.remaining() < LENGTH_SIZE + length) {
+            return null;
+        }
+        buffer.position(buffer.position() + LENGTH_SIZE);
+        return decodeBody(buffer, length);
+    }
+
+    // 메시지를 프레임 하나로 기록 (flush는 호출자가 담당)
+    static void writeMessage(DataOutputStream out, GameMessage message) throws IOException {
+        out.write(encode(message));
+    }
+
+    // 스트림에서 프레임 하나를 읽어 메시지로 복원
+    static GameMessage readMessage(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        checkLength(length);
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return decodeBody(ByteBuffer.wrap(body), length);
+    }
+
+    // 본문 길이 검사
+    private static void checkLength(int length) throws IOException {
+        if (length < HEADER_SIZE || LENGTH_SIZE + length > MAX_FRAME_SIZE) {
+            throw new StreamCorruptedException("잘못된 프레임 길이: " + length);
+        }
+    }
+
+    // 길이 접두 이후의 본문을 메시지로 복원 (본문 끝까지 소비)
+    private static GameMessage decodeBody(ByteBuffer buffer, int length) throws IOException {
+        int end = buffer.position() + length;
+        int version = buffer.get() & 0xFF;
+        if (version != VERSION) {
+            throw new StreamCorruptedException("지원하지 않는 프로토콜 버전: " + version);
+        }
+        int type = buffer.get() & 0xFF;
+        int seat = buffer.get() & 0xFF;
+        int card = buffer.get() & 0xFF;
+        int flags = buffer.get() & 0xFF;
+
+        int score = 0;
+        if ((flags & FLAG_SCORE) != 0) {
+            checkRemaining(buffer, end, 4);
+            score = buffer.getInt();
+        }
+        String clientId = null;
+        if ((flags & FLAG_CLIENT_ID) != 0) {
+            checkRemaining(buffer, end, 2);
+            int idLength = buffer.getShort() & 0xFFFF;
+            checkRemaining(buffer, end, idLength);
+            byte[] id = new byte[idLength];
+            buffer.get(id);
+            clientId = new String(id, StandardCharsets.UTF_8);
+        }
+        GameSnapshot snapshot = null;
+        if ((flags & FLAG_SNAPSHOT) != 0) {
+            snapshot = decodeSnapshot(buffer, end);
+        }
+        // 이후 버전에서 추가된 필드는 건너뜀
+        buffer.position(end);
+        if (type == GameMessage.LOGIN && !isValidName(clientId)) {
+            throw new StreamCorruptedException("사용할 수 없는 플레이어 이름");
+        }
+
+        if (snapshot != null) {
+            return new GameMessage(type, clientId, positionOf(seat), snapshot);
+        }
+        return new GameMessage(type, clientId, positionOf(seat), score, card == NONE ? -1 : card);
+    }
+
+    private static GameSnapshot decodeSnapshot(ByteBuffer buffer, int end) throws IOException {
+        checkRemaining(buffer, end, 1 + 8 + 1);
+        int turn = buffer.get() & 0xFF;
+        long round = buffer.getLong();
+        int seats = buffer.get() & 0xFF;
+        String[] names = new String[seats];
+        int[] scores = new int[seats];
+        int[] cards = new int[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            checkRemaining(buffer, end, 1 + 4 + 2);
+            int card = buffer.get() & 0xFF;
+            cards[seat] = card == NONE ? -1 : card;
+            scores[seat] = buffer.getInt();
+            int nameLength = buffer.getShort() & 0xFFFF;
+            checkRemaining(buffer, end, nameLength);
+            if (nameLength > 0) {
+                byte[] name = new byte[nameLength];
+                buffer.get(name);
+                names[seat] = new String(name, StandardCharsets.UTF_8);
+            }
+        }
+        return new GameSnapshot(names, scores, cards, turn, round);
+    }
+
+    // 본문 범위를 넘어서 읽지 않도록 확인
+    private static void checkRemaining(ByteBuffer buffer, int end, int needed) throws IOException {
+        if (end - buffer.position() < needed) {
+            throw new StreamCorruptedException("프레임 길이가 본문과 맞지 않습니다.");
+        }
+    }
+}
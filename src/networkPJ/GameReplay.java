@@ -0,0 +1,394 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ 저널에 기록된 게임을 서버의 게임방 코드로 다시 실행해 결과를 확인하는 도구 (소켓, Swing 없음)
+ 방마다 실제 GameRoom을 같은 덱 시드로 만들고 방 실행기를 호출 스레드에서 바로 실행하며
+ 기록 순서대로 입장/카드 뒤집기/종치기/점수/퇴장 명령을 넣고 게임방이 보낸 메시지를 기록과 비교
+ (뽑힌 카드, 종치기 판정과 점수, 10점 승리, 라운드 번호, 마지막의 좌석별 이름과 점수)
+ 처음으로 기록과 달라진 곳에서 그 방의 재실행을 멈추고 기록 번호와 차이를 보고
+
+ 종은 네트워크 스레드에서 도착 시점의 판으로 판정되고 처리는 loop 순서로 기록되므로,
+ 기록된 판(BellTable 인덱스)이 그 라운드에 실제로 있었던 판인지 확인한 뒤 그 판으로 같은 판정을 내림
+ 기록에 남지 않는 TOO_LATE(점수 변화 없음)는 재실행하지 않음
+
+ 쓰임: 규칙을 바꾼 뒤 기존 게임과 결과가 같은지 회귀 확인, 게임 규칙 처리 속도 측정, 운영 중 문제 재현(trace)
+ 사용법: java -cp <classes> networkPJ.GameReplay <저널 실행 폴더> [repeat=반복 횟수] [room=방 번호] [trace]
+ (기록과 다른 방이 있으면 종료 코드 1)
+*/
+public class GameReplay {
+    private static final int MAX_PROBLEM_LOG = 20;
+
+    // 방 하나의 재실행 결과
+    static final class Result {
+        final int roomId;
+        int replayed;        // 재실행한 기록 수
+        String mismatch;     // 처음으로 기록과 달라진 곳 (같으면 null)
+
+        Result(int roomId) {
+            this.roomId = roomId;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("사용법: java networkPJ.GameReplay <저널 실행 폴더> [repeat=N] [room=방 번호] [trace]");
+            System.exit(2);
+        }
+        Path dir = Paths.get(args[0]);
+        int repeat = 1;
+        int onlyRoom = -1;
+        boolean trace = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("repeat=")) {
+                repeat = Integer.parseInt(args[i].substring(7));
+            } else if (args[i].startsWith("room=")) {
+                onlyRoom = Integer.parseInt(args[i].substring(5));
+            } else if (args[i].equals("trace")) {
+                trace = true;
+            }
+        }
+        if (!Files.isDirectory(dir)) {
+            System.err.println("저널 폴더가 없습니다: " + dir);
+            System.exit(2);
+        }
+
+        List<JournalReader.RoomLog> rooms = new ArrayList<>();
+        long records = 0;
+        for (JournalReader.RoomLog room : JournalReader.readDirectory(dir)) {
+            if (onlyRoom < 0 || room.roomId == onlyRoom) {
+                rooms.add(room);
+                records += room.records.size();
+            }
+        }
+        System.out.println("방 " + rooms.size() + "개, 기록 " + records + "건을 다시 실행합니다.");
+
+        GameLobby lobby = new GameLobby(msg -> { }, 0, Runnable::run, 0);
+        int mismatches = 0;
+        long bestNanos = Long.MAX_VALUE;
+        long totalNanos = 0;
+        for (int pass = 0; pass < repeat; pass++) {
+            long start = System.nanoTime();
+            for (JournalReader.RoomLog room : rooms) {
+                Result result = replay(lobby, room, trace && pass == 0);
+                if (pass == 0 && result.mismatch != null) {
+                    if (mismatches < MAX_PROBLEM_LOG) {
+                        System.out.println("[방 " + result.roomId + "] 기록과 다름: " + result.mismatch);
+                    }
+                    mismatches++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            totalNanos += elapsed;
+            bestNanos = Math.min(bestNanos, elapsed);
+        }
+
+        System.out.printf("재실행 %d회: 평균 %.1f ms, 최고 %.1f ms (%,.0f 기록/초)%n", repeat,
+                totalNanos / 1e6 / repeat, bestNanos / 1e6, records / (bestNanos / 1e9));
+        if (mismatches > 0) {
+            System.out.println("기록과 다른 방: " + mismatches + "개 / " + rooms.size() + "개");
+            System.exit(1);
+        }
+        System.out.println("모든 방의 결과가 기록과 같습니다.");
+    }
+
+    // 방 하나를 처음부터 다시 실행
+    static Result replay(GameLobby lobby, JournalReader.RoomLog log, boolean trace) {
+        Run run = new Run(lobby, log, trace);
+        run.execute();
+        return run.result;
+    }
+
+    // 게임방이 보내는 메시지를 재실행 상태에 반영하는 가짜 연결 (좌석마다 하나)
+    private static final class ReplayConnection implements GameConnection {
+        private final Run run;
+
+        ReplayConnection(Run run) {
+            this.run = run;
+        }
+
+        @Override
+        public void sendMessage(GameMessage message) {
+            run.observe(this, message);
+        }
+
+        @Override
+        public void closeConnection() {
+        }
+    }
+
+    // 방 하나의 재실행 상태 (모든 명령이 호출 스레드에서 바로 처리됨)
+    private static final class Run {
+        private final JournalReader.RoomLog log;
+        private final boolean trace;
+        private final GameRoom room;
+        final Result result;
+
+        // 기록으로 계산한 상태
+        private final ReplayConnection[] seated = new ReplayConnection[GameRoom.SEATS];
+        private final String[] names = new String[GameRoom.SEATS];
+        private final int[] scores = new int[GameRoom.SEATS];
+        private final int[] board = new int[GameRoom.SEATS];
+        private long round;
+        private int[] seen = new int[8];      // 이번 라운드에 있었던 판 (BellTable 인덱스)
+        private int seenCount;
+        private int[] previousSeen = new int[0]; // 지난 라운드의 판 (라운드가 바뀌기 직전에 도착한 종 확인용)
+
+        // 게임방이 보낸 메시지 (명령 하나마다 초기화)
+        private int flippedCard;
+        private int gameOverScore = -1;
+        private boolean tooLate;
+        private String snapshotPosition;
+        private final int[] reportedScores = new int[GameRoom.SEATS];
+        private String error;
+
+        Run(GameLobby lobby, JournalReader.RoomLog log, boolean trace) {
+            this.log = log;
+            this.trace = trace;
+            this.result = new Result(log.roomId);
+            this.room = new GameRoom(log.roomId, lobby, msg -> {
+                if (msg.contains("명령 처리 오류")) {
+                    error = msg;
+                }
+            }, Runnable::run, log.seed, RoomJournal.DISABLED);
+            Arrays.fill(board, BellTable.EMPTY);
+            Arrays.fill(reportedScores, -1);
+            remember(BellTable.index(board)); // 첫 카드 전의 빈 판에도 종을 칠 수 있음
+        }
+
+        void execute() {
+            List<JournalReader.Record> records = log.records;
+            for (int i = 0; i < records.size(); i++) {
+                JournalReader.Record record = records.get(i);
+                if (trace) {
+                    System.out.println("[방 " + log.roomId + "] #" + i + " " + record);
+                }
+                String problem = step(record);
+                if (problem == null && error != null) {
+                    problem = error;
+                }
+                if (problem != null) {
+                    result.mismatch = "기록 #" + i + " " + record + ": " + problem;
+                    return;
+                }
+                result.replayed++;
+            }
+            result.mismatch = compareFinalState();
+        }
+
+        // 기록 하나를 명령으로 넣고 결과 확인 (같으면 null, 다르면 차이 설명)
+        private String step(JournalReader.Record record) {
+            flippedCard = -1;
+            tooLate = false;
+            snapshotPosition = null;
+            int seat = record.seat;
+            if (seat >= GameRoom.SEATS || (seat < 0 && record.type != GameJournal.BELL_AWARD)) {
+                return "좌석 번호가 잘못되었습니다.";
+            }
+            switch (record.type) {
+                case GameJournal.JOIN: {
+                    if (record.round != round) {
+                        return "라운드 " + round + "에서 입장해야 합니다.";
+                    }
+                    ReplayConnection connection = seatUntil(seat);
+                    if (connection == null) {
+                        return "좌석 " + seat + "에 앉을 수 없습니다.";
+                    }
+                    room.process(connection, new GameMessage(GameMessage.LOGIN, record.name, null));
+                    if (!GameProtocol.positionOf(seat).equals(snapshotPosition)) {
+                        return "입장 위치가 " + snapshotPosition + "입니다.";
+                    }
+                    names[seat] = record.name;
+                    scores[seat] = 0;
+                    return null;
+                }
+                case GameJournal.FLIP: {
+                    if (record.round != round) {
+                        return "재실행 라운드는 " + round + "입니다.";
+                    }
+                    if (seated[seat] == null) {
+                        return "빈 좌석입니다.";
+                    }
+                    room.process(seated[seat], new GameMessage(GameMessage.FLIP_CARD, null, null));
+                    if (flippedCard != record.value) {
+                        return flippedCard < 0 ? "카드가 뒤집히지 않았습니다. (차례가 아님)" : "뒤집힌 카드가 " + flippedCard + "입니다.";
+                    }
+                    board[seat] = record.value;
+                    remember(BellTable.index(board));
+                    return null;
+                }
+                case GameJournal.BELL_AWARD:
+                case GameJournal.BELL_PENALTY:
+                    return ringBell(record);
+                case GameJournal.GAME_OVER:
+                    if (gameOverScore != record.value) {
+                        return gameOverScore < 0 ? "게임 종료가 알려지지 않았습니다." : "승리 점수가 " + gameOverScore + "입니다.";
+                    }
+                    Arrays.fill(scores, 0); // 같은 방에서 새 게임 시작
+                    return null;
+                case GameJournal.LEAVE:
+                    if (seated[seat] == null) {
+                        return "빈 좌석입니다.";
+                    }
+                    room.leave(seated[seat]);
+                    if (reportedScores[seat] != -1 && playerCount() > 1) {
+                        return "퇴장이 알려지지 않았습니다.";
+                    }
+                    seated[seat] = null;
+                    names[seat] = null;
+                    scores[seat] = 0;
+                    return null;
+                default:
+                    return "알 수 없는 기록 종류입니다.";
+            }
+        }
+
+        // 기록된 판으로 종치기 판정을 다시 내리고 점수 확인
+        private String ringBell(JournalReader.Record record) {
+            boolean award = record.type == GameJournal.BELL_AWARD;
+            int boardIndex = record.detail;
+            if (award ? record.round != round : record.round != round && record.round != round - 1) {
+                return "재실행 라운드는 " + round + "입니다.";
+            }
+            if (!(record.round == round ? contains(seen, seenCount, boardIndex)
+                    : contains(previousSeen, previousSeen.length, boardIndex))) {
+                return "기록된 판(" + boardIndex + ")이 그 라운드에 없었습니다.";
+            }
+            int expected = award ? 1 : -1;
+            if (BellTable.scoreChange(BellTable.reasonAt(boardIndex)) != expected) {
+                return "판정 결과가 " + (award ? "감점" : "득점") + "입니다.";
+            }
+            int seat = record.seat;
+            ReplayConnection connection = seat >= 0 ? seated[seat] : new ReplayConnection(this);
+            if (connection == null) {
+                return "빈 좌석입니다.";
+            }
+            gameOverScore = -1;
+            room.replayRing(connection, record.round, boardIndex);
+            if (tooLate) {
+                return "다른 종이 먼저 라운드를 차지했습니다.";
+            }
+            if (seat >= 0) {
+                int reported = gameOverScore >= 0 ? gameOverScore : reportedScores[seat]; // 이긴 종이면 점수는 이미 0으로 돌아감
+                if (reported != record.value) {
+                    return "점수가 " + reported + "입니다.";
+                }
+                scores[seat] = record.value;
+            }
+            if (award) {
+                Arrays.fill(board, BellTable.EMPTY);
+                round++;
+                previousSeen = Arrays.copyOf(seen, seenCount);
+                seenCount = 0;
+            }
+            return null;
+        }
+
+        // 좌석 seat가 찰 때까지 연결을 앉힘 (게임방은 빈 좌석 중 가장 앞에 앉히므로 입장 전에 접속한 연결이 앞 좌석을 차지)
+        private ReplayConnection seatUntil(int seat) {
+            while (seated[seat] == null) {
+                int next = -1;
+                for (int i = 0; i < GameRoom.SEATS; i++) {
+                    if (seated[i] == null) {
+                        next = i;
+                        break;
+                    }
+                }
+                if (next < 0 || next > seat) {
+                    return null;
+                }
+                seated[next] = new ReplayConnection(this);
+                room.seat(seated[next]);
+            }
+            return seated[seat];
+        }
+
+        private int playerCount() {
+            int count = 0;
+            for (String name : names) {
+                if (name != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private void remember(int boardIndex) {
+            if (seenCount == seen.length) {
+                seen = Arrays.copyOf(seen, seenCount * 2);
+            }
+            seen[seenCount++] = boardIndex;
+        }
+
+        private static boolean contains(int[] values, int count, int value) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 게임방이 보낸 메시지 반영
+        void observe(ReplayConnection connection, GameMessage message) {
+            switch (message.getType()) {
+                case GameMessage.FLIP_CARD:
+                    flippedCard = message.getCardId();
+                    break;
+                case GameMessage.SCORE_UPDATE:
+                    int seat = GameProtocol.seatOf(message.getPosition());
+                    if (seat >= 0) {
+                        reportedScores[seat] = message.getScore();
+                    }
+                    break;
+                case GameMessage.GAME_OVER: // 클라이언트처럼 남은 플레이어의 점수를 0으로 봄
+                    gameOverScore = message.getScore();
+                    for (int i = 0; i < reportedScores.length; i++) {
+                        if (reportedScores[i] > 0) {
+                            reportedScores[i] = 0;
+                        }
+                    }
+                    break;
+                case GameMessage.TOO_LATE:
+                    tooLate = true;
+                    break;
+                case GameMessage.SNAPSHOT:
+                    snapshotPosition = message.getPosition();
+                    GameSnapshot snapshot = message.getSnapshot();
+                    for (int i = 0; i < snapshot.seats(); i++) {
+                        reportedScores[i] = snapshot.nameAt(i) != null ? snapshot.scoreAt(i) : -1;
+                    }
+                    break;
+            }
+        }
+
+        // 마지막 게임방 상태(이름, 점수, 판, 라운드)를 기록으로 계산한 상태와 비교
+        private String compareFinalState() {
+            GameSnapshot snapshot = room.snapshot();
+            if (snapshot.getRound() != round) {
+                return "마지막 라운드가 " + snapshot.getRound() + "입니다. (기록: " + round + ")";
+            }
+            for (int seat = 0; seat < GameRoom.SEATS; seat++) {
+                String name = snapshot.nameAt(seat);
+                if (name == null ? names[seat] != null : !name.equals(names[seat])) {
+                    return "마지막 좌석 " + seat + "의 플레이어가 " + name + "입니다. (기록: " + names[seat] + ")";
+                }
+                if (name != null && snapshot.scoreAt(seat) != scores[seat]) {
+                    return "마지막 좌석 " + seat + "의 점수가 " + snapshot.scoreAt(seat) + "입니다. (기록: " + scores[seat] + ")";
+                }
+                int card = board[seat] != BellTable.EMPTY ? board[seat] : -1;
+                if (snapshot.cardAt(seat) != card) {
+                    return "마지막 좌석 " + seat + "의 카드가 " + snapshot.cardAt(seat) + "입니다. (기록: " + card + ")";
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,652 @@
+package networkPJ;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ 4인 게임 한 판을 담당하는 게임방
+ 좌석별 연결, 플레이어 이름, 점수, 게임판, 현재 턴을 방마다 따로 관리
+ 방의 상태는 방 전용 직렬 실행기(loop)에서만 읽고 쓰며, 네트워크 스레드는 명령을 제출만 함
+ (잠금 없이 한 스레드에 가두어 안전성을 보장하고, 방끼리는 서로 경쟁하지 않음)
+
+ 종치기는 라운드(판이 비워질 때마다 증가하는 번호) 단위로 도착한 스레드에서 바로 판정
+ loop가 판이 바뀔 때마다 발행하는 판 상태(bellState)를 읽고, 맞는 종이면 CAS 한 번으로 라운드의 승자를 정함
+ 같은 라운드에 늦게 친 종은 점수를 건드리지 않고 TOO_LATE만 응답
+
+ 받아들인 명령(입장, 카드 뒤집기, 종, 퇴장)과 그 결과는 loop에서 방의 저널(RoomJournal)에 기록
+ 종치기 결과와 끝난 게임은 플레이어 전적 저장소(PlayerStatsStore)의 큐에 넣고, 로그인한 플레이어의 누적 전적은
+ 입장을 처리한 뒤 저장소에 비동기로 조회해 도착하면 loop에서 로그에 표시
+ (loop와 네트워크 스레드는 전적 파일을 읽거나 쓰지 않음, 캐시에 없으면 저장소의 조회 스레드가 읽음)
+
+ 로비에 재접속 대기 시간이 있으면 로그인한 플레이어에게 재접속 토큰을 주고, 연결이 끊겨도 그동안 좌석, 점수, 턴을 유지
+ 새 연결이 토큰을 보내면 로비가 배정한 빈 좌석을 반환하고 잡아 둔 좌석에 새 연결을 앉힌 뒤 SNAPSHOT 하나로 상태를 복원
+ 대기 시간 안에 돌아오지 않으면 그때 좌석을 비움 (퇴장과 같음)
+ 게임이 끝난 방은 좌석을 잡아 두지 않음 (토큰을 모두 폐기하고 끊긴 연결의 좌석은 바로 비움)
+
+ loop에서 보내는 메시지는 연결의 송신 큐에 쌓아 두기만 하고, 명령 하나의 처리가 끝나면
+ 메시지를 받은 연결마다 flush를 한 번씩 요청 (카드 한 장에 FLIP_CARD와 TURN_UPDATE를 한 번의 쓰기로 전송)
+*/
+final class GameRoom {
+    static final int SEATS = 4;
+
+    private final int roomId;
+    private final GameLobby lobby;
+    private final ServerLog log;
+    private final ServerMetrics metrics;
+    private final SerialExecutor loop; // 방 상태를 소유하는 직렬 실행기
+    private final Deck deck;           // 뒤집을 카드를 정하는 방 전용 덱 (loop에서만 사용)
+    private final RoomJournal journal; // 게임 이벤트 기록 (loop에서만 사용)
+    private final PlayerStatsStore playerStats; // 플레이어 누적 전적 (로비 공용)
+
+    // 좌석별 상태 (loop에서만 사용) (좌석 번호 = GameProtocol.POSITIONS 인덱스)
+    private final GameConnection[] connections = new GameConnection[SEATS];
+    private final String[] clientIds = new String[SEATS];   // 로그인 전에는 null
+    private final String[] tokens = new String[SEATS];      // 재접속 토큰 (재접속을 쓰지 않거나 로그인 전에는 null)
+    private final int[] holds = new int[SEATS];             // 좌석 유지를 시작하거나 끝낸 횟수 (지난 만료 타이머 무시용)
+    private final int[] scores = new int[SEATS];
+    private final int[] board = new int[SEATS];             // 뒤집힌 카드 번호 (없으면 BellTable.EMPTY)
+    private int currentTurn = 0;
+    private long round = 0;                                 // 현재 라운드 번호
+    private int timingTick = 0;                             // 처리 시간 표본 선택용 (loop에서만 사용)
+    private final GameConnection[] unflushed = new GameConnection[SEATS * 2]; // 처리 중인 명령이 메시지를 쌓은 연결 (loop에서만 사용)
+    private int unflushedCount = 0;
+
+    // 처리/브로드캐스트 시간은 TIMING_SAMPLE번에 한 번만 잼 (System.nanoTime 호출이 처리 자체보다 비쌈)
+    private static final int TIMING_SAMPLE = 8;
+
+    // 종치기 판정용 공유 상태 (loop가 발행하고 네트워크 스레드가 읽음)
+    private final AtomicReferenceArray<GameConnection> players = new AtomicReferenceArray<>(SEATS); // 좌석별 로그인한 연결
+    private final AtomicReference<BellClaim> bellClaim = new AtomicReference<>(new BellClaim(-1, 0));
+
+    /*
+     라운드 번호와 그 시점의 판을 long 하나에 담은 값 (카드를 뒤집을 때마다 객체를 만들지 않도록)
+     [라운드 번호][settled 1비트][판의 BellTable 인덱스 20비트]
+     settled: 방금 승자가 나와 판이 비워진 뒤 아직 카드가 없음
+     판정은 종이 울렸을 때만 하도록 사유 코드 대신 테이블 인덱스를 보관
+     카드마다 발행되므로 volatile 쓰기의 메모리 장벽 대신 release/acquire로 충분한 순서만 보장
+    */
+    private long bellState;
+    private static final VarHandle BELL_STATE;
+    private static final int BOARD_BITS = 20;
+    private static final long BOARD_MASK = (1L << BOARD_BITS) - 1;
+    private static final long SETTLED_BIT = 1L << BOARD_BITS;
+
+    // 라운드의 승자가 된 종치기 (도착 시각 System.nanoTime)
+    private static final class BellClaim {
+        final long round;
+        final long arrivedAt;
+
+        BellClaim(long round, long arrivedAt) {
+            this.round = round;
+            this.arrivedAt = arrivedAt;
+        }
+    }
+
+    static {
+        try {
+            BELL_STATE = MethodHandles.lookup().findVarHandle(GameRoom.class, "bellState", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    GameRoom(int roomId, GameLobby lobby, ServerLog log, Executor pool, long seed, RoomJournal journal) {
+        this.roomId = roomId;
+        this.lobby = lobby;
+        this.log = log;
+        this.metrics = lobby.metrics();
+        this.loop = new SerialExecutor(pool, log);
+        this.deck = new Deck(seed);
+        this.journal = journal;
+        this.playerStats = lobby.playerStats();
+        Arrays.fill(board, BellTable.EMPTY);
+        publishBellState(false);
+    }
+
+    int getRoomId() {
+        return roomId;
+    }
+
+    // 로비가 자리를 잡아 둔 연결을 빈 좌석에 앉힘
+    void seat(GameConnection connection) {
+        submit(() -> takeSeat(connection));
+    }
+
+    /*
+     클라이언트로부터 받은 메시지 처리 (네트워크 방식과 무관한 진입점)
+     연결이 앞으로 메시지를 보낼 방을 반환 (재접속으로 다른 방의 좌석을 되찾으면 그 방)
+    */
+    GameRoom process(GameConnection connection, GameMessage message) {
+        metrics.messageReceived(message.getType());
+        if (message.getType() == GameMessage.RING_BELL) {
+            long arrivedAt = System.nanoTime();
+            ringBell(connection, arrivedAt);
+            metrics.handled(GameMessage.RING_BELL, System.nanoTime() - arrivedAt);
+            return this;
+        }
+        if (message.getType() == GameMessage.RESUME) {
+            return resumeIn(connection, message.getClientId(), System.nanoTime());
+        }
+        submit(() -> handle(connection, message));
+        if (message.getType() == GameMessage.LOGIN) {
+            String clientId = message.getClientId();
+            playerStats.lookupAsync(clientId, record -> {
+                if (record != null) {
+                    submit(() -> showRecord(connection, clientId, record));
+                }
+            });
+        }
+        return this;
+    }
+
+    /*
+     재접속 요청 (메시지를 받은 네트워크 스레드에서 실행)
+     토큰의 방을 찾으면 이 방에서 로비가 잡아 준 좌석을 반환하고 그 방에 연결을 넘김
+     모르는 토큰이면 실패만 응답하고 이 방에 그대로 둠 (클라이언트는 새로 로그인할 수 있음)
+     처리 시간 지표는 요청이 도착한 때부터 좌석을 되찾을 때까지 (드물게 오므로 모두 기록)
+    */
+    private GameRoom resumeIn(GameConnection connection, String token, long arrivedAt) {
+        GameRoom target = lobby.sessionRoom(token);
+        if (target == null || isPlayer(connection)) {
+            submit(() -> send(connection, new GameMessage(GameMessage.RESUME, null, null)));
+            metrics.handled(GameMessage.RESUME, System.nanoTime() - arrivedAt);
+            return this;
+        }
+        leave(connection);
+        target.submit(() -> {
+            target.resume(connection, token);
+            metrics.handled(GameMessage.RESUME, System.nanoTime() - arrivedAt);
+        });
+        return target;
+    }
+
+    /*
+     종치기 판정 (메시지를 받은 네트워크 스레드에서 실행)
+     맞는 종이면 라운드를 먼저 차지한 한 명만 loop에 점수 처리를 맡기고
+     이미 차지된 라운드면 TOO_LATE(점수 칸 = 승자보다 늦은 마이크로초)만 응답
+     틀린 종은 도착 시점의 판정 결과로 loop에서 감점
+    */
+    private void ringBell(GameConnection connection, long arrivedAt) {
+        if (!isPlayer(connection)) {
+            return;
+        }
+        long state = (long) BELL_STATE.getAcquire(this);
+        if ((state & SETTLED_BIT) != 0) {
+            tooLate(connection, arrivedAt);
+            return;
+        }
+        judge(connection, arrivedAt, state >>> (BOARD_BITS + 1), (int) (state & BOARD_MASK));
+    }
+
+    // 종이 도착한 라운드와 그때의 판(BellTable 인덱스)으로 판정
+    private void judge(GameConnection connection, long arrivedAt, long stateRound, int boardIndex) {
+        int reason = BellTable.reasonAt(boardIndex);
+        if (BellTable.scoreChange(reason) != 1) {
+            metrics.bellRung(ServerMetrics.BELL_PENALTY);
+            submit(() -> penalize(connection, stateRound, boardIndex));
+            return;
+        }
+        BellClaim current = bellClaim.get();
+        if (current.round < stateRound
+                && bellClaim.compareAndSet(current, new BellClaim(stateRound, arrivedAt))) {
+            metrics.bellRung(ServerMetrics.BELL_AWARD);
+            submit(() -> award(connection, stateRound, boardIndex));
+        } else {
+            tooLate(connection, arrivedAt);
+        }
+    }
+
+    /*
+     기록된 종치기 재실행 (GameReplay 전용)
+     저널에는 loop에서 처리된 순서로 기록되므로, 종이 도착한 시점의 판을 기록에서 받아 같은 판정을 내림
+    */
+    void replayRing(GameConnection connection, long stateRound, int boardIndex) {
+        judge(connection, System.nanoTime(), stateRound, boardIndex);
+    }
+
+    // 로그인한 플레이어의 연결인지 확인
+    private boolean isPlayer(GameConnection connection) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (players.get(seat) == connection) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 현재 라운드와 판을 종치기 판정 상태로 발행 (loop에서만 호출)
+    private void publishBellState(boolean settled) {
+        BELL_STATE.setRelease(this, round << (BOARD_BITS + 1) | (settled ? SETTLED_BIT : 0) | BellTable.index(board));
+    }
+
+    // 라운드를 놓친 종치기에 응답 (방 상태는 건드리지 않음)
+    private void tooLate(GameConnection connection, long arrivedAt) {
+        metrics.bellRung(ServerMetrics.BELL_TOO_LATE);
+        long lateMicros = Math.max(0, arrivedAt - bellClaim.get().arrivedAt) / 1000;
+        connection.sendMessage(new GameMessage(GameMessage.TOO_LATE, null, null, (int) Math.min(Integer.MAX_VALUE, lateMicros)));
+    }
+
+    // 연결 끊김 처리 (이미 나간 연결이면 무시)
+    void leave(GameConnection connection) {
+        submit(() -> disconnected(connection));
+    }
+
+    // 방의 모든 연결 종료 (재접속을 받지 않도록 토큰을 먼저 폐기하여 닫히는 연결의 좌석을 잡아 두지 않음)
+    void closeAll() {
+        submit(() -> {
+            for (int seat = 0; seat < SEATS; seat++) {
+                dropSession(seat);
+            }
+            for (GameConnection connection : connections) {
+                if (connection != null) {
+                    connection.closeConnection();
+                }
+            }
+            journal.close();
+        });
+    }
+
+    // loop에 명령 제출 (명령이 쌓은 메시지는 명령이 끝난 뒤 한 번에 flush)
+    private void submit(Runnable command) {
+        loop.execute(() -> {
+            try {
+                command.run();
+            } finally {
+                flushAll();
+            }
+        });
+    }
+
+    // 메시지를 연결의 송신 큐에 쌓고 명령이 끝날 때 flush할 연결로 기록 (loop에서만 호출)
+    private void send(GameConnection connection, GameMessage message) {
+        connection.queueMessage(message);
+        for (int i = 0; i < unflushedCount; i++) {
+            if (unflushed[i] == connection) {
+                return;
+            }
+        }
+        if (unflushedCount == unflushed.length) {
+            flushAll();
+        }
+        unflushed[unflushedCount++] = connection;
+    }
+
+    // 쌓인 메시지를 연결마다 한 번씩 전송 요청
+    private void flushAll() {
+        for (int i = 0; i < unflushedCount; i++) {
+            unflushed[i].flush();
+            unflushed[i] = null;
+        }
+        unflushedCount = 0;
+    }
+
+    // 빈 좌석에 연결 배치 (로비가 좌석 수를 세어 두므로 빈 좌석은 항상 있음)
+    private void takeSeat(GameConnection connection) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (connections[seat] == null && clientIds[seat] == null) { // 재접속을 기다리는 좌석은 건너뜀
+                connections[seat] = connection;
+                return;
+            }
+        }
+        print("빈 좌석이 없어 연결을 종료합니다.");
+        connection.closeConnection();
+        if (lobby.seatFreed(this)) {
+            journal.close();
+        }
+    }
+
+    // 연결이 앉은 좌석 번호 (없으면 -1)
+    private int seatOf(GameConnection connection) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (connections[seat] == connection) {
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    // 좌석을 차지한 연결 수
+    private int playerCount() {
+        int count = 0;
+        for (GameConnection connection : connections) {
+            if (connection != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 메시지 종류별 처리 (표본으로 고른 메시지의 처리 시간은 종류별 지표에 기록)
+    private void handle(GameConnection connection, GameMessage message) {
+        if (!sampleTiming()) {
+            dispatch(connection, message);
+            return;
+        }
+        long start = System.nanoTime();
+        dispatch(connection, message);
+        metrics.handled(message.getType(), System.nanoTime() - start);
+    }
+
+    private boolean sampleTiming() {
+        return ++timingTick % TIMING_SAMPLE == 0;
+    }
+
+    private void dispatch(GameConnection connection, GameMessage message) {
+        switch (message.getType()) {
+            case GameMessage.LOGIN: // 로그인 처리
+                join(connection, message.getClientId());
+                break;
+
+            case GameMessage.LOGOUT: // 로그아웃 처리
+                removePlayer(connection);
+                break;
+
+            case GameMessage.FLIP_CARD: // 카드 뒤집기 요청 (카드는 서버의 덱에서 뽑음)
+                flip(connection);
+                break;
+
+            // 점수는 서버가 종치기 판정(award, penalize)으로만 바꿈 (클라이언트가 보낸 SCORE_UPDATE는 무시)
+        }
+    }
+
+    /*
+     로그인 처리
+     입장한 클라이언트에게는 자신의 위치와 게임방 전체 상태를 SNAPSHOT 하나로 보내고
+     다른 클라이언트에게는 새 플레이어의 점수(SCORE_UPDATE) 하나만 보냄 (턴은 바뀌지 않으므로 보내지 않음)
+    */
+    private void join(GameConnection connection, String clientId) {
+        int seat = seatOf(connection);
+        if (seat < 0) {
+            return;
+        }
+        String position = GameProtocol.positionOf(seat);
+        clientIds[seat] = clientId;
+        players.set(seat, connection);
+        scores[seat] = 0; // 초기 점수 설정
+        journal.join(seat, round, clientId);
+        send(connection, new GameMessage(GameMessage.SNAPSHOT, clientId, position, snapshot()));
+        long grace = lobby.resumeGraceMillis();
+        if (grace > 0) {
+            if (tokens[seat] != null) {
+                lobby.closeSession(tokens[seat]); // 같은 연결의 두 번째 로그인
+            }
+            tokens[seat] = lobby.openSession(this);
+            send(connection, new GameMessage(GameMessage.RESUME_TOKEN, tokens[seat], position,
+                    (int) Math.min(Integer.MAX_VALUE, grace / 1000)));
+        }
+
+        print(clientId + "님이 " + position + " 위치로 입장하셨습니다.");
+
+        broadcast(new GameMessage(GameMessage.SCORE_UPDATE, clientId, position, 0), connection);
+        print("현재 접속 클라이언트 수: " + playerCount());
+    }
+
+    // 조회가 끝난 누적 전적을 로그에 표시 (그사이 나갔으면 생략)
+    private void showRecord(GameConnection connection, String clientId, PlayerStatsStore.Stats record) {
+        int seat = seatOf(connection);
+        if (seat >= 0 && clientId.equals(clientIds[seat])) {
+            print(clientId + "님의 누적 전적: " + record);
+        }
+    }
+
+    // 현재 게임방 상태 (빈 칸은 BellTable.EMPTY 대신 -1) (loop에서만 호출, GameReplay는 loop를 호출 스레드에서 실행)
+    GameSnapshot snapshot() {
+        int[] faceUp = new int[SEATS];
+        for (int seat = 0; seat < SEATS; seat++) {
+            faceUp[seat] = board[seat] != BellTable.EMPTY ? board[seat] : -1;
+        }
+        return new GameSnapshot(clientIds, scores, faceUp, currentTurn, round);
+    }
+
+    // 카드 뒤집기 처리 (자신의 차례일 때만)
+    private void flip(GameConnection connection) {
+        int seat = seatOf(connection);
+        if (seat < 0 || seat != currentTurn) {
+            return;
+        }
+        String clientId = clientIds[seat];
+        int cardId = deck.draw();
+        CardCatalog.Card cardInfo = CardCatalog.get(cardId);
+
+        // 이전 카드를 새로운 카드로 교체하고 종치기 판정 상태 발행
+        board[seat] = cardId;
+        publishBellState(false);
+        journal.record(GameJournal.FLIP, seat, round, cardId, 0);
+        print(clientId + "님이 " + cardInfo.name + " 카드를 뒤집었습니다.");
+
+        // 카드 상태 브로드캐스트 및 다음 턴 처리
+        broadcast(new GameMessage(GameMessage.FLIP_CARD, clientId, GameProtocol.positionOf(seat), 0, cardId));
+        currentTurn = (currentTurn + 1) % SEATS;
+
+        broadcast(new GameMessage(GameMessage.TURN_UPDATE, null, GameProtocol.positionOf(currentTurn)));
+        print("다음 차례: " + clientIds[currentTurn] + "님");
+    }
+
+    // 라운드를 차지한 종치기의 점수 처리 후 판을 비우고 다음 라운드로
+    private void award(GameConnection connection, long claimedRound, int boardIndex) {
+        if (claimedRound != round) {
+            return;
+        }
+        print(BellTable.describe(BellTable.reasonAt(boardIndex)));
+        int seat = seatOf(connection);
+        if (seat < 0 || clientIds[seat] == null) { // 판정 후 나갔으면 점수 없이 라운드만 종료
+            journal.record(GameJournal.BELL_AWARD, -1, round, 0, boardIndex);
+        } else {
+            String clientId = clientIds[seat];
+            String position = GameProtocol.positionOf(seat);
+            int newScore = scores[seat] + 1;
+            scores[seat] = newScore;
+            journal.record(GameJournal.BELL_AWARD, seat, round, newScore, boardIndex);
+            playerStats.ringAwarded(clientId, newScore);
+
+            broadcast(new GameMessage(GameMessage.SCORE_UPDATE, clientId, position, newScore));
+            broadcast(new GameMessage(GameMessage.RING_BELL, clientId, position));
+
+            print(clientId + "님이 종을 쳤습니다. 점수: " + newScore);
+
+            // 승리 조건(10점) 체크
+            if (newScore >= 10) {
+                print(clientId + "님이 " + newScore + "점으로 게임에서 승리했습니다!");
+                journal.record(GameJournal.GAME_OVER, seat, round, newScore, 0);
+                for (int other = 0; other < SEATS; other++) {
+                    if (clientIds[other] != null) {
+                        playerStats.gamePlayed(clientIds[other], other == seat, scores[other]);
+                    }
+                }
+                broadcast(new GameMessage(GameMessage.GAME_OVER, clientId, null, newScore));
+                endResumeHolds();
+                startNewGame();
+            }
+        }
+
+        // 카드 초기화 후 다음 라운드
+        Arrays.fill(board, BellTable.EMPTY);
+        round++;
+        publishBellState(true);
+
+        broadcast(new GameMessage(GameMessage.TURN_UPDATE, null, GameProtocol.positionOf(currentTurn)));
+    }
+
+    // 잘못된 종치기 감점 (판정은 종이 도착한 시점의 판 기준)
+    private void penalize(GameConnection connection, long stateRound, int boardIndex) {
+        int seat = seatOf(connection);
+        if (seat < 0 || clientIds[seat] == null) {
+            return;
+        }
+        String clientId = clientIds[seat];
+        print(BellTable.describe(BellTable.reasonAt(boardIndex)));
+
+        int newScore = Math.max(0, scores[seat] - 1);
+        scores[seat] = newScore;
+        journal.record(GameJournal.BELL_PENALTY, seat, stateRound, newScore, boardIndex);
+        playerStats.ringPenalized(clientId, newScore);
+
+        broadcast(new GameMessage(GameMessage.SCORE_UPDATE, clientId, GameProtocol.positionOf(seat), newScore));
+        print(clientId + "님이 잘못된 종치기로 1점 감점. 현재 점수: " + newScore);
+
+        broadcast(new GameMessage(GameMessage.TURN_UPDATE, null, GameProtocol.positionOf(currentTurn)));
+    }
+
+    /*
+     연결 끊김: 재접속 토큰이 있는 플레이어면 대기 시간 동안 좌석을 잡아 두고 만료 타이머를 걺
+     점수와 턴은 그대로 두고 메시지만 보내지 않음 (자기 차례였으면 다른 플레이어는 돌아오거나 만료될 때까지 기다림)
+    */
+    private void disconnected(GameConnection connection) {
+        int seat = seatOf(connection);
+        if (seat < 0) {
+            return;
+        }
+        if (tokens[seat] == null) {
+            removePlayer(connection);
+            return;
+        }
+        connections[seat] = null;
+        players.set(seat, null);
+        int hold = ++holds[seat];
+        print(clientIds[seat] + "님의 연결이 끊겼습니다. " + lobby.resumeGraceMillis() / 1000 + "초 동안 재접속을 기다립니다.");
+        lobby.afterResumeGrace(() -> submit(() -> expire(seat, hold)));
+    }
+
+    // 재접속 대기 시간이 지난 좌석 비우기 (그사이 재접속했거나 다시 끊겼으면 무시)
+    private void expire(int seat, int hold) {
+        if (holds[seat] != hold || connections[seat] != null || clientIds[seat] == null) {
+            return;
+        }
+        print(clientIds[seat] + "님이 재접속하지 않아 좌석을 비웁니다.");
+        removeSeat(seat);
+    }
+
+    /*
+     토큰의 좌석에 새 연결을 앉히고 SNAPSHOT 하나로 상태 복원 (resumeIn이 이 방의 loop에 제출)
+     서버가 아직 끊김을 알아채지 못한 이전 연결이 앉아 있으면 닫고 자리를 넘겨받음
+     그사이 좌석이 비워졌으면 실패를 보내고 연결을 닫음 (이미 원래 방의 좌석을 반환했으므로)
+    */
+    private void resume(GameConnection connection, String token) {
+        int seat = -1;
+        for (int s = 0; s < SEATS; s++) {
+            if (token.equals(tokens[s])) {
+                seat = s;
+            }
+        }
+        if (seat < 0) {
+            connection.sendMessage(new GameMessage(GameMessage.RESUME, null, null));
+            connection.closeConnection();
+            return;
+        }
+        GameConnection previous = connections[seat];
+        connections[seat] = connection;
+        players.set(seat, connection);
+        holds[seat]++;
+        if (previous != null && previous != connection) {
+            previous.closeConnection(); // 이전 연결의 leave는 좌석을 찾지 못해 무시됨
+        }
+        String position = GameProtocol.positionOf(seat);
+        send(connection, new GameMessage(GameMessage.SNAPSHOT, clientIds[seat], position, snapshot()));
+        print(clientIds[seat] + "님이 " + position + " 위치로 재접속했습니다.");
+    }
+
+    // 끝난 게임의 재접속 토큰을 폐기 (클라이언트는 GAME_OVER 뒤 로그아웃 없이 연결을 닫으므로 좌석을 잡아 두지 않음)
+    private void endResumeHolds() {
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (dropSession(seat) && connections[seat] == null && clientIds[seat] != null) { // 재접속을 기다리던 좌석
+                removeSeat(seat);
+            }
+        }
+    }
+
+    /*
+     같은 방에서 새 게임 시작: 남은 플레이어의 점수를 0으로 (클라이언트는 GAME_OVER를 받으면 점수를 0으로 봄)
+     판은 award가 비우고, 라운드 번호는 종 차지 판정에 쓰이므로 방이 열려 있는 동안 계속 늘어남
+     새로 입장하는 플레이어는 다시 재접속 토큰을 받음
+    */
+    private void startNewGame() {
+        for (int seat = 0; seat < SEATS; seat++) {
+            scores[seat] = 0;
+        }
+        print("새 게임을 시작합니다.");
+    }
+
+    // 좌석의 재접속 토큰을 폐기하고 걸어 둔 만료 타이머를 무효로 함 (토큰이 있었으면 true)
+    private boolean dropSession(int seat) {
+        if (tokens[seat] == null) {
+            return false;
+        }
+        lobby.closeSession(tokens[seat]);
+        tokens[seat] = null;
+        holds[seat]++;
+        return true;
+    }
+
+    // 로그아웃 처리 (이미 나간 연결이면 무시)
+    private void removePlayer(GameConnection connection) {
+        int seat = seatOf(connection);
+        if (seat >= 0) {
+            removeSeat(seat);
+        }
+    }
+
+    // 좌석 비우기 (재접속을 기다리던 좌석이면 연결은 이미 없음)
+    private void removeSeat(int seat) {
+        String logoutClientId = clientIds[seat];
+        connections[seat] = null;
+        clientIds[seat] = null;
+        players.set(seat, null);
+        scores[seat] = 0;
+        dropSession(seat);
+        holds[seat]++;
+        if (logoutClientId != null) {
+            journal.record(GameJournal.LEAVE, seat, round, 0, 0);
+        }
+
+        if (logoutClientId != null) {
+            broadcast(new GameMessage(GameMessage.SCORE_UPDATE, logoutClientId, GameProtocol.positionOf(seat), -1));
+            print(logoutClientId + "님이 게임에서 나갔습니다.");
+        }
+
+        // 로그아웃 후 턴 조정
+        if (currentTurn == seat) {
+            currentTurn = (currentTurn + 1) % SEATS;
+        }
+        int remaining = playerCount();
+        if (remaining > 0) {
+            broadcast(new GameMessage(GameMessage.TURN_UPDATE, null, GameProtocol.positionOf(currentTurn)));
+        }
+        print("현재 접속 클라이언트 수: " + remaining);
+        if (lobby.seatFreed(this)) {
+            journal.close(); // 방이 닫힘
+        }
+    }
+
+    // 방 안의 모든 클라이언트에게 메시지 브로드캐스트
+    private void broadcast(GameMessage message) {
+        broadcast(message, null);
+    }
+
+    // except를 제외한 방 안의 클라이언트에게 메시지 브로드캐스트
+    private void broadcast(GameMessage message, GameConnection except) {
+        if (!sampleTiming()) {
+            fanOut(message, except);
+            return;
+        }
+        long start = System.nanoTime();
+        fanOut(message, except);
+        metrics.broadcast(System.nanoTime() - start);
+    }
+
+    private void fanOut(GameMessage message, GameConnection except) {
+        for (GameConnection connection : connections) {
+            if (connection != null && connection != except) {
+                send(connection, message);
+            }
+        }
+    }
+
+    // 방 번호를 붙여 로그 출력
+    private void print(String msg) {
+        log.print("[방 " + roomId + "] " + msg);
+    }
+}
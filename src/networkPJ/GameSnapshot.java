@@ -0,0 +1,54 @@
+package networkPJ;
+
+import java.util.Arrays;
+
+/*
+ 새로 입장한 플레이어에게 한 번에 보내는 게임방 상태
+ 좌석별 이름(빈 좌석은 null), 점수, 뒤집힌 카드 번호(없으면 -1)와 현재 턴, 라운드 번호
+ (배열 인덱스 = 좌석 번호 = GameProtocol.POSITIONS 인덱스)
+*/
+final class GameSnapshot {
+    private final String[] names;
+    private final int[] scores;
+    private final int[] cards;
+    private final int turn;
+    private final long round;
+
+    GameSnapshot(String[] names, int[] scores, int[] cards, int turn, long round) {
+        this.names = names.clone();
+        this.scores = scores.clone();
+        this.cards = cards.clone();
+        this.turn = turn;
+        this.round = round;
+    }
+
+    int seats() {
+        return names.length;
+    }
+
+    String nameAt(int seat) {
+        return names[seat];
+    }
+
+    int scoreAt(int seat) {
+        return scores[seat];
+    }
+
+    int cardAt(int seat) {
+        return cards[seat];
+    }
+
+    int getTurn() {
+        return turn;
+    }
+
+    long getRound() {
+        return round;
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot{names=" + Arrays.toString(names) + ", scores=" + Arrays.toString(scores)
+                + ", cards=" + Arrays.toString(cards) + ", turn=" + turn + ", round=" + round + "}";
+    }
+}
@@ -0,0 +1,248 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ 화면 없이 실행하는 서버 진입점 (컨테이너 등 X 서버가 없는 환경용)
+ Swing/AWT 클래스를 전혀 참조하지 않으며, 실행하면 바로 수신 대기를 시작하고
+ SIGTERM(종료 훅)을 받으면 모든 연결을 정리한 뒤 종료
+
+ 사용법: java -cp <classes> networkPJ.HeadlessGameServer [config=<properties 파일>] [키=값 ...]
+ 설정 값이 잘못되면 (형식, 숫자, 범위) 시작하지 않고 종료 코드 2로 종료
+ 설정 키 (명령행 값이 파일 값보다 우선, 앞의 --는 생략 가능)
+   bind        수신 주소 (기본값: 0.0.0.0)
+   port        포트 번호 (기본값: 54321)
+   transport   thread | virtual | nio (기본값: nio)
+   ioThreads   NIO I/O 스레드 수 (기본값: min(4, CPU 수))
+   roomThreads 게임방 실행 스레드 수 (기본값: CPU 수)
+   maxRooms    최대 방 수, 0이면 제한 없음 (기본값: 0)
+   resumeGraceSeconds 연결이 끊긴 플레이어의 좌석을 재접속 토큰으로 되찾을 수 있게 잡아 두는 시간(초), 0이면 바로 비움 (기본값: 30)
+   seed        방별 덱 시드를 만드는 로비 시드, 고정하면 게임 재현 가능 (기본값: 무작위)
+   statsInterval 방 수와 송신 큐 지표를 출력할 간격(초), 0이면 출력 안 함 (기본값: 60)
+   metricsPort Prometheus 지표(/metrics) HTTP 포트, 0이면 사용 안 함 (기본값: 0)
+   metricsBind 지표 HTTP 수신 주소 (기본값: 127.0.0.1)
+   journalDir  게임 이벤트 저널 폴더, 비어 있으면 사용 안 함 (기본값: 비어 있음)
+   journalSegmentMB 저널 세그먼트 파일 크기(MB, 1~1024), 차면 다음 파일로 넘어감 (기본값: 16)
+   journalSyncMillis 저널을 디스크에 동기화하는 간격(ms) (기본값: 20)
+   journalMaxMappings 동시에 열어 두는 저널 세그먼트 매핑 수 한도, 방마다 보통 1~2개 (기본값: 30000, vm.max_map_count 65530의 절반 이하)
+   statsDir    플레이어 누적 전적 저장 폴더, 비어 있으면 사용 안 함 (기본값: 비어 있음)
+   statsCacheSize 메모리에 두는 최근 플레이어 전적 수 (기본값: 100000)
+   statsFlushMillis 쌓인 전적 기록을 파일에 반영하는 간격(ms) (기본값: 200)
+*/
+public class HeadlessGameServer {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final int MAX_PORT = 0xFFFF;
+
+    public static void main(String[] args) throws Exception {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        String bind;
+        String mode;
+        int port;
+        int ioThreads;
+        int roomThreads;
+        int maxRooms;
+        int resumeGraceSeconds;
+        int statsInterval;
+        int metricsPort;
+        String metricsBind;
+        String journalDir;
+        int journalSegmentMB;
+        int journalSyncMillis;
+        int journalMaxMappings;
+        String statsDir;
+        int statsCacheSize;
+        int statsFlushMillis;
+        long seed;
+        try {
+            Properties config = readConfig(args);
+            bind = config.getProperty("bind", "0.0.0.0").trim();
+            mode = config.getProperty("transport", "nio").trim();
+            port = intProperty(config, "port", 54321, 0, MAX_PORT);
+            ioThreads = intProperty(config, "ioThreads", Math.min(4, cpus), 1, Integer.MAX_VALUE);
+            roomThreads = intProperty(config, "roomThreads", cpus, 1, Integer.MAX_VALUE);
+            maxRooms = intProperty(config, "maxRooms", 0, 0, Integer.MAX_VALUE);
+            resumeGraceSeconds = intProperty(config, "resumeGraceSeconds",
+                    (int) (GameLobby.DEFAULT_RESUME_GRACE_MILLIS / 1000), 0, Integer.MAX_VALUE);
+            statsInterval = intProperty(config, "statsInterval", 60, 0, Integer.MAX_VALUE);
+            metricsPort = intProperty(config, "metricsPort", 0, 0, MAX_PORT);
+            metricsBind = config.getProperty("metricsBind", "127.0.0.1").trim();
+            journalDir = config.getProperty("journalDir", "").trim();
+            journalSegmentMB = intProperty(config, "journalSegmentMB", 16, 1, 1024);
+            journalSyncMillis = intProperty(config, "journalSyncMillis", 20, 1, Integer.MAX_VALUE);
+            journalMaxMappings = intProperty(config, "journalMaxMappings", 30_000, 1, Integer.MAX_VALUE);
+            statsDir = config.getProperty("statsDir", "").trim();
+            statsCacheSize = intProperty(config, "statsCacheSize", 100_000, 1, Integer.MAX_VALUE);
+            statsFlushMillis = intProperty(config, "statsFlushMillis", 200, 1, Integer.MAX_VALUE);
+            String seedValue = config.getProperty("seed");
+            seed = seedValue != null ? Long.parseLong(seedValue.trim()) : new SplittableRandom().nextLong();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("설정 오류: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ServerLog log = HeadlessGameServer::print;
+        ExecutorService roomPool = GameLobby.newRoomPool(roomThreads);
+        GameJournal journal = null;
+        if (!journalDir.isEmpty()) {
+            try {
+                journal = GameJournal.open(Paths.get(journalDir), journalSegmentMB * 1024 * 1024, journalSyncMillis,
+                        journalMaxMappings, log);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("서버 오류: 저널 폴더 " + journalDir + "를 열 수 없습니다: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            print("게임 이벤트 저널: " + journal.getDirectory() + " (세그먼트 " + journalSegmentMB + "MB, 동기화 " + journalSyncMillis
+                    + "ms, 매핑 한도 " + journalMaxMappings + "개)");
+        }
+        PlayerStatsStore playerStats = PlayerStatsStore.DISABLED;
+        if (!statsDir.isEmpty()) {
+            try {
+                playerStats = PlayerStatsStore.open(Paths.get(statsDir), statsCacheSize, statsFlushMillis, log);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("서버 오류: 전적 폴더 " + statsDir + "를 열 수 없습니다: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            print("플레이어 전적: " + playerStats);
+        }
+        GameLobby lobby = new GameLobby(log, maxRooms, roomPool, seed, journal, playerStats, resumeGraceSeconds * 1000L);
+
+        ServerTransport transport;
+        switch (mode) {
+            case "nio":
+                transport = new NioTransport(lobby, log, ioThreads);
+                break;
+            case "thread":
+            case "virtual":
+                transport = new ThreadPerClientTransport(lobby, log, mode.equals("virtual"));
+                break;
+            default:
+                System.err.println("설정 오류: 알 수 없는 transport 값입니다: " + mode);
+                System.exit(2);
+                return;
+        }
+
+        try {
+            transport.start(new InetSocketAddress(bind, port));
+        } catch (IOException e) {
+            System.err.println("서버 오류: " + bind + ":" + port + " 수신 대기 실패: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        print("서버가 시작되었습니다: " + bind + ":" + port + " (" + mode + ", 방 스레드 " + roomThreads
+                + (mode.equals("nio") ? ", I/O 스레드 " + ioThreads : "")
+                + (maxRooms > 0 ? ", 최대 방 수 " + maxRooms : "") + ", 재접속 대기 " + resumeGraceSeconds + "초, 시드 " + seed + ")");
+
+        MetricsHttpServer metricsServer = null;
+        if (metricsPort > 0) {
+            try {
+                metricsServer = MetricsHttpServer.start(new InetSocketAddress(metricsBind, metricsPort), lobby.metrics());
+                print("지표 HTTP 서버가 시작되었습니다: http://" + metricsBind + ":" + metricsPort + "/metrics");
+            } catch (IOException e) {
+                System.err.println("서버 오류: 지표 HTTP " + metricsBind + ":" + metricsPort + " 수신 대기 실패: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+
+        if (statsInterval > 0) {
+            ScheduledExecutorService statsTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "stats");
+                thread.setDaemon(true);
+                return thread;
+            });
+            statsTimer.scheduleAtFixedRate(
+                    () -> print("방 " + lobby.roomCount() + "개, " + transport.outboundStats()),
+                    statsInterval, statsInterval, TimeUnit.SECONDS);
+        }
+
+        // SIGTERM/SIGINT 시 연결 정리 (방 실행기에 쌓인 종료 명령이 끝날 때까지 잠시 대기)
+        MetricsHttpServer metricsToStop = metricsServer;
+        GameJournal journalToClose = journal;
+        PlayerStatsStore statsToClose = playerStats;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            print("서버를 종료합니다. (방 수: " + lobby.roomCount() + ")");
+            if (metricsToStop != null) {
+                metricsToStop.stop();
+            }
+            lobby.close();
+            transport.stop();
+            roomPool.shutdown();
+            try {
+                roomPool.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (journalToClose != null) {
+                journalToClose.close();
+                print(journalToClose.toString());
+            }
+            if (statsToClose != PlayerStatsStore.DISABLED) {
+                statsToClose.close();
+                print(statsToClose.toString());
+            }
+            print("서버가 중지되었습니다.");
+        }, "shutdown"));
+    }
+
+    // 설정 파일을 먼저 읽고 명령행 값으로 덮어씀
+    private static Properties readConfig(String[] args) throws IOException {
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("키=값 형식이 아닙니다: " + arg);
+            }
+            overrides.setProperty(option.substring(0, eq), option.substring(eq + 1));
+        }
+
+        Properties config = new Properties();
+        String file = overrides.getProperty("config");
+        if (file != null) {
+            try (InputStream in = Files.newInputStream(Paths.get(file))) {
+                config.load(in);
+            }
+        }
+        config.putAll(overrides);
+        return config;
+    }
+
+    // 정수 설정 값 (숫자가 아니거나 min~max 범위를 벗어나면 IllegalArgumentException)
+    private static int intProperty(Properties config, String key, int defaultValue, int min, int max) {
+        String value = config.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " 값이 숫자가 아닙니다: " + value);
+        }
+        if (parsed < min || parsed > max) {
+            throw new IllegalArgumentException(key + " 값은 " + min + (max == Integer.MAX_VALUE ? " 이상" : "~" + max)
+                    + "이어야 합니다: " + value);
+        }
+        return parsed;
+    }
+
+    // 시각을 붙여 표준 출력에 로그 출력
+    private static void print(String msg) {
+        System.out.println(LocalTime.now().format(TIME) + " " + msg);
+    }
+}
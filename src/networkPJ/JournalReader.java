@@ -0,0 +1,139 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/*
+ GameJournal 세그먼트 파일 읽기 (형식은 GameJournal 참고)
+ 실행 폴더 하나의 세그먼트들을 방별로 모아 세그먼트 번호 순서대로 이어 붙임
+ 길이가 0이거나 파일 끝에서 잘린 기록은 데이터 끝으로 봄 (서버가 기록 도중 죽은 경우)
+*/
+final class JournalReader {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("room-(\\d+)-(\\d+)\\.hgj");
+
+    // 기록 하나
+    static final class Record {
+        final int type;
+        final int seat;       // 없으면 -1
+        final long timeMillis;
+        final long round;
+        final int value;
+        final int detail;
+        final String name;    // JOIN만 (나머지는 null)
+
+        Record(int type, int seat, long timeMillis, long round, int value, int detail, String name) {
+            this.type = type;
+            this.seat = seat;
+            this.timeMillis = timeMillis;
+            this.round = round;
+            this.value = value;
+            this.detail = detail;
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return typeName(type) + "{seat=" + seat + ", round=" + round + ", value=" + value + ", detail=" + detail
+                    + (name != null ? ", name=" + name : "") + "}";
+        }
+    }
+
+    // 방 하나의 기록
+    static final class RoomLog {
+        final int roomId;
+        final long seed;      // 방의 덱 시드
+        final List<Record> records = new ArrayList<>();
+
+        RoomLog(int roomId, long seed) {
+            this.roomId = roomId;
+            this.seed = seed;
+        }
+    }
+
+    private JournalReader() {
+    }
+
+    // 실행 폴더의 모든 방 기록 (방 번호 순)
+    static List<RoomLog> readDirectory(Path dir) throws IOException {
+        Map<Integer, TreeMap<Integer, Path>> segments = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Matcher m = SEGMENT_NAME.matcher(path.getFileName().toString());
+                if (m.matches()) {
+                    segments.computeIfAbsent(Integer.parseInt(m.group(1)), id -> new TreeMap<>())
+                            .put(Integer.parseInt(m.group(2)), path);
+                }
+            }
+        }
+        List<RoomLog> rooms = new ArrayList<>();
+        for (TreeMap<Integer, Path> files : segments.values()) {
+            RoomLog room = null;
+            for (Path file : files.values()) {
+                room = readSegment(file, room);
+            }
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    // 세그먼트 하나를 읽어 room에 이어 붙임 (room이 null이면 새로 만듦)
+    static RoomLog readSegment(Path file, RoomLog room) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.limit() < GameJournal.HEADER_SIZE || buffer.getInt(0) != GameJournal.MAGIC) {
+            throw new IOException("저널 파일이 아닙니다: " + file);
+        }
+        if (buffer.getShort(4) != GameJournal.VERSION) {
+            throw new IOException("지원하지 않는 저널 버전입니다: " + buffer.getShort(4) + " (" + file + ")");
+        }
+        int roomId = buffer.getInt(8);
+        if (room == null) {
+            room = new RoomLog(roomId, buffer.getLong(16));
+        } else if (room.roomId != roomId) {
+            throw new IOException("다른 방의 세그먼트입니다: " + file);
+        }
+
+        int at = buffer.getShort(6) & 0xFFFF;
+        while (at + GameJournal.RECORD_SIZE <= buffer.limit()) {
+            int length = buffer.getShort(at) & 0xFFFF;
+            if (length < GameJournal.RECORD_SIZE || at + length > buffer.limit()) {
+                break; // 데이터 끝 (또는 쓰다 만 기록)
+            }
+            int type = buffer.get(at + 2);
+            int seat = buffer.get(at + 3) & 0xFF;
+            String name = null;
+            if (type == GameJournal.JOIN) {
+                int nameLength = buffer.getShort(at + GameJournal.RECORD_SIZE) & 0xFFFF;
+                if (GameJournal.RECORD_SIZE + 2 + nameLength > length) {
+                    throw new IOException("저널 기록 형식 오류: " + file + " 위치 " + at);
+                }
+                name = new String(buffer.array(), at + GameJournal.RECORD_SIZE + 2, nameLength, StandardCharsets.UTF_8);
+            }
+            room.records.add(new Record(type, seat == GameJournal.NO_SEAT ? -1 : seat, buffer.getLong(at + 4),
+                    buffer.getLong(at + 12), buffer.getInt(at + 20), buffer.getInt(at + 24), name));
+            at += length;
+        }
+        return room;
+    }
+
+    static String typeName(int type) {
+        switch (type) {
+            case GameJournal.JOIN: return "JOIN";
+            case GameJournal.FLIP: return "FLIP";
+            case GameJournal.BELL_AWARD: return "BELL_AWARD";
+            case GameJournal.BELL_PENALTY: return "BELL_PENALTY";
+            case GameJournal.LEAVE: return "LEAVE";
+            case GameJournal.GAME_OVER: return "GAME_OVER";
+            default: return "UNKNOWN(" + type + ")";
+        }
+    }
+}
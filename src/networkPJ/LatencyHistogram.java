@@ -0,0 +1,49 @@
+package networkPJ;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 잠금 없는 지연 시간 히스토그램
+ 구간 경계는 1µs부터 2배씩 늘어나는 고정 값이라 기록할 구간을 비트 연산 한 번으로 찾고
+ 구간별 개수와 합계는 LongAdder에 더해 여러 스레드가 동시에 기록해도 경쟁이 적음
+*/
+final class LatencyHistogram {
+    // 구간 수 (마지막 구간 경계 = 2^(BUCKETS-1) µs, 약 8.4초)
+    static final int BUCKETS = 24;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS + 1]; // 마지막 칸은 경계 초과
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    // 지연 시간 하나 기록
+    void record(long nanos) {
+        long micros = Math.max(0, nanos) / 1000;
+        // micros <= 2^i 인 가장 작은 i (0µs, 1µs는 0번 구간)
+        int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+        counts[Math.min(bucket, BUCKETS)].increment();
+        sumNanos.add(nanos);
+    }
+
+    // i번 구간의 상한 (초)
+    static double upperBoundSeconds(int bucket) {
+        return (1L << bucket) / 1e6;
+    }
+
+    // 구간별 개수 (누적 아님, 마지막 칸은 경계 초과)
+    long[] snapshot() {
+        long[] result = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            result[i] = counts[i].sum();
+        }
+        return result;
+    }
+
+    long sumNanos() {
+        return sumNanos.sum();
+    }
+}
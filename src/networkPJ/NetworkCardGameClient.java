@@ -1,6 +1,7 @@
 package networkPJ;
 
 import javax.swing.*;
+import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
@@ -10,9 +11,13 @@ import java.util.Map;
 
 public class NetworkCardGameClient extends CardGameGUI {
     // 네트워크 소켓 및 통신 관련 변수들
-    private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
+    private volatile Socket socket;
+    private volatile DataOutputStream out;
+    private volatile DataInputStream in;
+    private String serverAddress;
+    private int serverPort;
+    private volatile String resumeToken; // 서버가 발급한 재접속 토큰 (직접 종료하면 null)
+    private volatile int resumeGraceSeconds; // 서버가 좌석을 잡아 두는 시간
     private String clientId; // 클라이언트 고유 식별자
     private String position; // 클라이언트의 게임 내 위치
     private boolean isMyTurn = false; // 현재 차례인지 확인하는 플래그
@@ -95,21 +100,22 @@ public class NetworkCardGameClient extends CardGameGUI {
 
     // 네트워크 설정 메서드
     private void setupNetworking(String serverAddress, int serverPort) {
+        this.serverAddress = serverAddress;
+        this.serverPort = serverPort;
         try {
             // 서버에 소켓 연결
             socket = new Socket(serverAddress, serverPort);
-            out = new ObjectOutputStream(socket.getOutputStream());
-            in = new ObjectInputStream(socket.getInputStream());
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
 
             // 초기 카드 설정 (뒷면)
-            setAllRandomCards(backCard);
-            setAllBackCards(backCard);
+            board.clear();
             
             // 로그인 메시지 전송
             sendMessage(new GameMessage(GameMessage.LOGIN, clientId, null));
 
-            // 메시지 수신 스레드 시작
-            new Thread(new IncomingReader()).start();
+            // 메시지 수신 스레드 시작 (-Dvirtual.threads=true 이면 가상 스레드)
+            VirtualThreads.newThread(VirtualThreads.isEnabled(), new IncomingReader(), "incoming-reader").start();
 
             // 초기 버튼 상태 설정
             ringBellButton.setEnabled(true);
@@ -132,11 +138,8 @@ public class NetworkCardGameClient extends CardGameGUI {
         flipButton.addActionListener(e -> {
             // 자신의 차례일 때만 카드 뒤집기 가능
             if (isMyTurn) {
-                // 랜덤 카드 뒤집기
-                ImageIcon newImage = getRandomImageExcludingBackCard();
-                String cardImageName = getImageName(newImage);
-                // 카드 뒤집기 메시지 전송
-                sendMessage(new GameMessage(GameMessage.FLIP_CARD, clientId, position, newImage, cardImageName));
+                // 카드 뒤집기 요청 전송 (카드는 서버가 덱에서 뽑아 FLIP_CARD로 알려줌)
+                sendMessage(new GameMessage(GameMessage.FLIP_CARD, null, null));
             } else {
                 JOptionPane.showMessageDialog(null, "아직 당신의 차례가 아닙니다!");
             }
@@ -167,27 +170,31 @@ public class NetworkCardGameClient extends CardGameGUI {
         getContentPane().add(scorePanel, BorderLayout.NORTH);
     }
     
-    // 점수 업데이트 메서드
+    // 점수 업데이트 메서드 (점수 -1은 플레이어가 나갔다는 뜻)
     private void updateScore(String clientId, String position, int score) {
         SwingUtilities.invokeLater(() -> {
             // 해당 위치의 점수 레이블 업데이트
             if (position != null) {
                 JLabel scoreLabel = scoreLabels.get(position);
                 if (scoreLabel != null) {
-                    scoreLabel.setText(clientId + ": " + score + "점");
+                    scoreLabel.setText(score < 0 ? position + ": 대기 중" : clientId + ": " + score + "점");
                 }
             }
             
-            // 클라이언트 점수 맵 업데이트
-            clientScores.put(clientId, score);
+            // 클라이언트 점수 맵 업데이트 (나간 플레이어는 지워 오래 접속해도 맵이 좌석 수 이상 커지지 않게 함)
+            if (score < 0) {
+                clientScores.remove(clientId);
+            } else {
+                clientScores.put(clientId, score);
+            }
         });
     }
 
     // 메시지 전송 메서드
     private void sendMessage(GameMessage message) {
         try {
-            // 메시지 직렬화하여 서버로 전송
-            out.writeObject(message);
+            // 메시지를 바이너리 프레임으로 변환하여 서버로 전송
+            GameProtocol.writeMessage(out, message);
             out.flush();
         } catch (IOException e) {
             e.printStackTrace();
@@ -198,14 +205,20 @@ public class NetworkCardGameClient extends CardGameGUI {
     // 메시지 수신 스레드
     private class IncomingReader implements Runnable {
         public void run() {
-            try {
-                // 지속적으로 서버로부터 메시지 수신
-                while (true) {
-                    GameMessage message = (GameMessage) in.readObject();
-                    processMessage(message);
+            while (true) {
+                try {
+                    // 지속적으로 서버로부터 메시지 수신
+                    while (true) {
+                        GameMessage message = GameProtocol.readMessage(in);
+                        processMessage(message);
+                    }
+                } catch (Exception e) {
+                    // 연결이 끊기면 재접속 토큰으로 좌석을 되찾아 계속 수신
+                    if (resume()) {
+                        continue;
+                    }
                 }
-            } catch (Exception e) {
-                // 연결 종료 시 로그인 화면으로 돌아가기
+                // 재접속할 수 없으면 로그인 화면으로 돌아가기
                 SwingUtilities.invokeLater(() -> {
                     Point location = getLocation();
                     
@@ -217,7 +230,73 @@ public class NetworkCardGameClient extends CardGameGUI {
                     loginScreen.setLocation(location);
                     loginScreen.setVisible(true);
                 });
+                return;
+            }
+        }
+    }
+
+    /*
+     재접속 (수신 스레드에서 호출)
+     서버가 좌석을 잡아 두는 동안 1초마다 새 연결로 토큰을 보내고, SNAPSHOT을 받으면 그 상태로 화면을 복원
+     서버가 실패를 응답하거나(좌석이 비워짐) 대기 시간이 지나면 false
+    */
+    private boolean resume() {
+        long deadline = System.nanoTime() + resumeGraceSeconds * 1_000_000_000L;
+        if (resumeToken == null) {
+            return false;
+        }
+        SwingUtilities.invokeLater(() -> {
+            flipButton.setEnabled(false);
+            ringBellButton.setEnabled(false);
+            setTitle("카드 게임 클라이언트 - " + clientId + " (" + position + ") - 재접속 중...");
+        });
+        closeSocketQuietly(socket);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            String token = resumeToken;
+            if (token == null) {
+                return false; // 그사이 직접 종료함
+            }
+            Socket newSocket = null;
+            try {
+                newSocket = new Socket(serverAddress, serverPort);
+                DataOutputStream newOut = new DataOutputStream(new BufferedOutputStream(newSocket.getOutputStream()));
+                DataInputStream newIn = new DataInputStream(new BufferedInputStream(newSocket.getInputStream()));
+                GameProtocol.writeMessage(newOut, new GameMessage(GameMessage.RESUME, token, null));
+                newOut.flush();
+                // 응답 전에 로비가 배정한 방의 메시지가 올 수 있으므로 SNAPSHOT이나 실패 응답까지 건너뜀
+                GameMessage reply;
+                do {
+                    reply = GameProtocol.readMessage(newIn);
+                } while (reply.getType() != GameMessage.SNAPSHOT && reply.getType() != GameMessage.RESUME);
+                if (reply.getType() == GameMessage.RESUME) {
+                    closeSocketQuietly(newSocket);
+                    return false;
+                }
+                socket = newSocket;
+                out = newOut;
+                in = newIn;
+                processMessage(reply);
+                SwingUtilities.invokeLater(() -> ringBellButton.setEnabled(true));
+                return true;
+            } catch (IOException e) {
+                closeSocketQuietly(newSocket); // 서버에 아직 닿지 않음, 다시 시도
+            }
+        }
+        return false;
+    }
+
+    private static void closeSocketQuietly(Socket target) {
+        try {
+            if (target != null) {
+                target.close();
             }
+        } catch (IOException e) {
+            // 이미 끊긴 소켓
         }
     }
 
@@ -235,6 +314,11 @@ public class NetworkCardGameClient extends CardGameGUI {
                 setTitle("카드 게임 클라이언트 - " + clientId + " (" + position + ")");
                 break;
 
+            case GameMessage.SNAPSHOT:
+                // 입장 시 게임방 전체 상태 (자신의 위치, 좌석별 이름/점수/카드, 현재 차례)
+                applySnapshot(message.getPosition(), message.getSnapshot());
+                break;
+
             case GameMessage.TURN_UPDATE:
                 // 차례 업데이트
                 isMyTurn = message.getPosition().equals(position);
@@ -248,8 +332,11 @@ public class NetworkCardGameClient extends CardGameGUI {
                 break;
 
             case GameMessage.FLIP_CARD:
-                // 카드 이미지 업데이트
-                updateCardImage(message.getPosition(), message.getImage());
+                // 카드 번호를 로컬 이미지로 변환하여 업데이트
+                int cardId = message.getCardId();
+                if (cardId >= 0 && cardId < CardCatalog.SIZE) {
+                    updateCardImage(message.getPosition(), cardId);
+                }
                 break;
 
             case GameMessage.RING_BELL:
@@ -266,9 +353,45 @@ public class NetworkCardGameClient extends CardGameGUI {
                 // 게임 종료 처리
                 handleGameOver(message.getClientId(), message.getScore());
                 break;
+
+            case GameMessage.TOO_LATE:
+                // 다른 플레이어가 먼저 종을 침 (점수 변화 없음)
+                handleTooLate(message.getScore());
+                break;
+
+            case GameMessage.RESUME_TOKEN:
+                // 연결이 끊겼을 때 좌석을 되찾을 토큰 저장
+                resumeToken = message.getClientId();
+                resumeGraceSeconds = message.getScore();
+                break;
         }
     }
 
+    // 게임방 상태 반영 메서드 (재접속했을 때는 끊긴 동안 바뀐 상태로 화면 전체를 덮어씀)
+    private void applySnapshot(String myPosition, GameSnapshot snapshot) {
+        position = myPosition;
+        isMyTurn = GameProtocol.positionOf(snapshot.getTurn()) != null
+                && GameProtocol.positionOf(snapshot.getTurn()).equals(position);
+        SwingUtilities.invokeLater(() -> {
+            clientScores.clear();
+            for (int seat = 0; seat < snapshot.seats(); seat++) {
+                String name = snapshot.nameAt(seat);
+                String seatPosition = GameProtocol.positionOf(seat);
+                JLabel scoreLabel = scoreLabels.get(seatPosition);
+                if (name != null) {
+                    clientScores.put(name, snapshot.scoreAt(seat));
+                }
+                if (scoreLabel != null) {
+                    scoreLabel.setText(name != null ? name + ": " + snapshot.scoreAt(seat) + "점" : seatPosition + ": 대기 중");
+                }
+                board.showCard(seat, snapshot.cardAt(seat));
+            }
+            flipButton.setEnabled(isMyTurn);
+            setTitle("카드 게임 클라이언트 - " + clientId + " (" + position + ")"
+                    + (isMyTurn ? " - 당신의 차례입니다!" : ""));
+        });
+    }
+
     // 게임 종료 처리 메서드
     private void handleGameOver(String winnerClientId, int winnerScore) {
         SwingUtilities.invokeLater(() -> {
@@ -295,49 +418,38 @@ public class NetworkCardGameClient extends CardGameGUI {
         });
     }
 
-    // 카드 이미지 업데이트 메서드
-    private void updateCardImage(String position, ImageIcon image) {
-        SwingUtilities.invokeLater(() -> {
-            // 각 위치의 카드 이미지 변경
-            switch (position) {
-                case "topLeft":
-                    topLeftRandomCard.setIcon(image);
-                    break;
-                case "topRight":
-                    topRightRandomCard.setIcon(image);
-                    break;
-                case "bottomLeft":
-                    bottomLeftRandomCard.setIcon(image);
-                    break;
-                case "bottomRight":
-                    bottomRightRandomCard.setIcon(image);
-                    break;
-            }
-        });
+    // 카드 이미지 업데이트 메서드 (해당 위치 좌석만 다시 그림)
+    private void updateCardImage(String position, int cardId) {
+        SwingUtilities.invokeLater(() -> board.showCard(GameProtocol.seatOf(position), cardId));
     }
 
-    // 종 울리기 처리 메서드
+    // 종 울리기 처리 메서드 (1초 후 종과 그 전에 뒤집힌 카드 초기화)
     private void handleBellRing() {
+        SwingUtilities.invokeLater(() -> board.ringBell());
+    }
+
+    // 종치기가 늦었음을 점수 패널 제목에 1초간 표시
+    private void handleTooLate(int lateMicros) {
         SwingUtilities.invokeLater(() -> {
-            // 종 이미지 변경
-            bellLabel.setIcon(bell[1]);
-
-            // 1초 후 종 이미지와 카드 초기화
-            Timer timer = new Timer(1000, new ActionListener() {
-                public void actionPerformed(ActionEvent evt) {
-                    bellLabel.setIcon(bell[0]);
-                    setAllRandomCards(backCard);
-                    setAllBackCards(backCard);
-                    usedIndexes.clear();
+            TitledBorder border = (TitledBorder) scorePanel.getBorder();
+            border.setTitle(String.format("플레이어 점수 - 한발 늦었습니다! (%.1fms)", lateMicros / 1000.0));
+            scorePanel.repaint();
+
+            long until = System.nanoTime() + 1_000_000_000L;
+            FrameClock.start(now -> {
+                if (now - until < 0) {
+                    return true;
                 }
+                border.setTitle("플레이어 점수");
+                scorePanel.repaint();
+                return false;
             });
-            timer.setRepeats(false);
-            timer.start();
         });
     }
 
-    // 네트워크 연결 종료 메서드
+    // 네트워크 연결 종료 메서드 (직접 종료하므로 재접속하지 않음)
     private void closeConnection() {
+        resumeToken = null;
         try {
             // 입력 스트림 닫기
             if (in != null) {
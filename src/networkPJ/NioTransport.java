@@ -0,0 +1,371 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ Selector 기반 논블로킹 네트워크 방식
+ 수신 스레드 하나가 연결을 받아 소수의 고정된 I/O 스레드에 순서대로 나누어 주고
+ 각 I/O 스레드는 자신의 Selector로 여러 연결의 읽기/쓰기를 처리
+ 연결별 읽기/쓰기 버퍼는 BufferPool의 direct ByteBuffer를 재사용
+*/
+final class NioTransport implements ServerTransport {
+    // 접속이 몰릴 때 SYN이 버려지지 않도록 넉넉한 accept 대기열
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    // 연결별 버퍼 크기 (프레임 최대 크기의 두 배)
+    private static final int BUFFER_SIZE = GameProtocol.MAX_FRAME_SIZE * 2;
+
+    // 연결별 송신 큐 크기 (넘치면 너무 느린 클라이언트로 보고 연결 종료)
+    private static final int OUTBOUND_CAPACITY = 1024;
+
+    private final GameLobby lobby;
+    private final ServerLog log;
+    private final int ioThreads;
+    private final BufferPool bufferPool;
+    private final OutboundStats outboundStats = new OutboundStats();
+    private final ServerMetrics metrics;
+
+    private ServerSocketChannel serverChannel;
+    private Worker[] workers;
+    private volatile boolean isServerRunning = false;
+
+    NioTransport(GameLobby lobby, ServerLog log, int ioThreads) {
+        this.lobby = lobby;
+        this.log = log;
+        this.ioThreads = ioThreads;
+        this.bufferPool = new BufferPool(BUFFER_SIZE, 4096);
+        this.metrics = lobby.metrics();
+        metrics.setOutboundStats(outboundStats);
+    }
+
+    @Override
+    public void start(InetSocketAddress address) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, ACCEPT_BACKLOG);
+        isServerRunning = true;
+
+        workers = new Worker[ioThreads];
+        for (int i = 0; i < ioThreads; i++) {
+            workers[i] = new Worker(Selector.open());
+            new Thread(workers[i], "nio-io-" + i).start();
+        }
+
+        Thread acceptThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                int next = 0;
+                try {
+                    while (isServerRunning) {
+                        // 블로킹 accept 후 논블로킹으로 전환하여 I/O 스레드에 배정
+                        SocketChannel channel = serverChannel.accept();
+                        channel.configureBlocking(false);
+                        String clientAddress = channel.socket().getInetAddress().getHostAddress();
+
+                        Worker worker = workers[next];
+                        next = (next + 1) % workers.length;
+                        NioConnection connection = new NioConnection(channel, worker);
+                        metrics.connectionOpened(); // 방이 좌석을 잡자마자 닫아도 연결 수가 음수가 되지 않도록 먼저 셈
+                        GameRoom room = lobby.assign(connection);
+
+                        if (room != null) {
+                            log.print("클라이언트가 연결되었습니다: " + clientAddress + " (방 " + room.getRoomId() + ")");
+                            worker.register(connection);
+                        } else {
+                            log.print("방 수 제한에 걸려 클라이언트 연결을 거부합니다: " + clientAddress);
+                            metrics.connectionClosed();
+                            channel.close();
+                        }
+                    }
+                } catch (IOException e) {
+                    if (isServerRunning) {
+                        log.print("서버 오류: " + e.getMessage());
+                    }
+                }
+            }
+        }, "nio-accept");
+        acceptThread.start();
+    }
+
+    @Override
+    public OutboundStats outboundStats() {
+        return outboundStats;
+    }
+
+    @Override
+    public void stop() {
+        isServerRunning = false;
+        try {
+            if (serverChannel != null && serverChannel.isOpen()) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            log.print("서버 종료 오류: " + e.getMessage());
+        }
+        if (workers != null) {
+            for (Worker worker : workers) {
+                worker.selector.wakeup();
+            }
+        }
+    }
+
+    // Selector 하나로 여러 연결을 처리하는 I/O 스레드
+    private final class Worker implements Runnable {
+        private final Selector selector;
+        private final ConcurrentLinkedQueue<NioConnection> registrations = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<NioConnection> pendingWrites = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<NioConnection> pendingCloses = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+        Worker(Selector selector) {
+            this.selector = selector;
+        }
+
+        // 새 연결 등록 요청
+        void register(NioConnection connection) {
+            registrations.offer(connection);
+            wakeup();
+        }
+
+        // 쓰기 요청 (다른 스레드에서 호출)
+        void requestWrite(NioConnection connection) {
+            pendingWrites.offer(connection);
+            wakeup();
+        }
+
+        // 종료 요청 (다른 스레드에서 호출)
+        void requestClose(NioConnection connection) {
+            pendingCloses.offer(connection);
+            wakeup();
+        }
+
+        // 여러 요청이 겹쳐도 wakeup은 한 번만 호출
+        private void wakeup() {
+            if (wakeupPending.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (isServerRunning) {
+                    selector.select();
+                    wakeupPending.set(false);
+                    processRequests();
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        NioConnection connection = (NioConnection) key.attachment();
+                        if (key.isValid() && key.isReadable()) {
+                            connection.onReadable();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                log.print("I/O 스레드 오류: " + e.getMessage());
+            } finally {
+                // 서버 종료 시 남은 연결 정리
+                for (SelectionKey key : selector.keys()) {
+                    ((NioConnection) key.attachment()).close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    log.print("Selector 종료 오류: " + e.getMessage());
+                }
+            }
+        }
+
+        // 다른 스레드가 쌓아 둔 등록/쓰기/종료 요청 처리
+        private void processRequests() {
+            NioConnection connection;
+            while ((connection = registrations.poll()) != null) {
+                try {
+                    connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+                    connection.readBuffer = bufferPool.acquire();
+                    connection.writeBuffer = bufferPool.acquire();
+                    // 등록 전에 쌓인 메시지 전송
+                    connection.write();
+                } catch (ClosedChannelException e) {
+                    connection.close();
+                }
+            }
+            while ((connection = pendingWrites.poll()) != null) {
+                connection.write();
+            }
+            while ((connection = pendingCloses.poll()) != null) {
+                connection.close();
+            }
+        }
+    }
+
+    // NIO 채널 하나에 대한 게임 연결
+    private final class NioConnection implements GameConnection {
+        private final SocketChannel channel;
+        private final Worker worker;
+        private final OutboundQueue outbound = new OutboundQueue(OUTBOUND_CAPACITY, outboundStats);
+        private final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+        // 아래 필드는 I/O 스레드에서만 사용
+        private SelectionKey key;
+        private ByteBuffer readBuffer;
+        private ByteBuffer writeBuffer;   // 아직 보내지 못한 바이트 (쓰기 모드 유지)
+        private byte[] pendingFrame;      // 쓰기 버퍼에 들어가지 못한 프레임
+        private boolean closed;
+
+        private volatile GameRoom room; // 배정된 게임방 (좌석을 잡기 전에 로비가 정함, 재접속하면 좌석을 되찾은 방으로 바뀜)
+
+        NioConnection(SocketChannel channel, Worker worker) {
+            this.channel = channel;
+            this.worker = worker;
+        }
+
+        // 메시지 전송 (송신 큐에 넣고 I/O 스레드에 쓰기 요청, 프레임 변환은 I/O 스레드에서)
+        @Override
+        public void sendMessage(GameMessage message) {
+            queueMessage(message);
+            flush();
+        }
+
+        // flush()까지 쓰기 요청 없이 송신 큐에 추가
+        @Override
+        public void queueMessage(GameMessage message) {
+            if (!outbound.offer(message)) {
+                log.print("송신 큐가 가득 차 느린 클라이언트의 연결을 종료합니다: " + channel.socket().getInetAddress().getHostAddress());
+                closeConnection();
+            }
+        }
+
+        // 쌓인 메시지가 있으면 I/O 스레드에 쓰기 요청 (이미 요청되어 있으면 생략)
+        @Override
+        public void flush() {
+            if (!outbound.isEmpty() && writeScheduled.compareAndSet(false, true)) {
+                worker.requestWrite(this);
+            }
+        }
+
+        @Override
+        public void assigned(GameRoom room) {
+            this.room = room;
+        }
+
+        // 연결 종료 (실제 종료는 I/O 스레드에서 처리)
+        @Override
+        public void closeConnection() {
+            worker.requestClose(this);
+        }
+
+        // 읽을 수 있는 데이터를 받아 완성된 프레임을 게임방에 전달
+        void onReadable() {
+            try {
+                int read = channel.read(readBuffer);
+                if (read < 0) {
+                    close();
+                    return;
+                }
+                metrics.bytesReceived(read);
+                readBuffer.flip();
+                GameMessage message;
+                while (!closed && (message = GameProtocol.decode(readBuffer)) != null) {
+                    room = room.process(this, message); // 재접속하면 좌석을 되찾은 방으로 바뀜
+                }
+                if (!closed) {
+                    readBuffer.compact();
+                }
+            } catch (IOException | RuntimeException e) {
+                if (e.getMessage() != null) {
+                    log.print("클라이언트 통신 오류: " + e.getMessage());
+                }
+                close();
+            }
+        }
+
+        // 큐에 쌓인 프레임을 쓰기 버퍼로 옮겨 가능한 만큼 전송 (I/O 스레드에서만 호출)
+        void write() {
+            writeScheduled.set(false);
+            if (closed || key == null) {
+                return;
+            }
+            try {
+                byte[] frame = pendingFrame != null ? pendingFrame : nextFrame();
+                while (frame != null) {
+                    if (writeBuffer.remaining() < frame.length) {
+                        break;
+                    }
+                    writeBuffer.put(frame);
+                    frame = nextFrame();
+                }
+                pendingFrame = frame;
+
+                // 보낼 바이트가 있을 때만 쓰기 (큐가 빈 뒤의 쓰기 가능 이벤트는 시스템 콜 없이 넘어감)
+                writeBuffer.flip();
+                if (writeBuffer.hasRemaining()) {
+                    metrics.bytesSent(channel.write(writeBuffer));
+                    metrics.socketWrite();
+                }
+                writeBuffer.compact();
+
+                // 다 보내지 못했으면 쓰기 가능 이벤트를 기다림
+                boolean hasMore = writeBuffer.position() > 0 || pendingFrame != null || !outbound.isEmpty();
+                key.interestOps(hasMore ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        // 송신 큐의 다음 메시지를 프레임으로 변환 (변환할 수 없는 메시지는 건너뜀)
+        private byte[] nextFrame() {
+            GameMessage message;
+            while ((message = outbound.poll()) != null) {
+                try {
+                    byte[] frame = GameProtocol.encode(message);
+                    metrics.messageSent(message.getType());
+                    return frame;
+                } catch (IOException e) {
+                    log.print("메시지 전송 오류: " + e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        // 채널과 버퍼 정리 후 좌석 반환 (I/O 스레드에서만 호출)
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (key != null) {
+                    key.cancel();
+                }
+                channel.close();
+            } catch (IOException e) {
+                log.print("연결 종료 오류: " + e.getMessage());
+            }
+            if (readBuffer != null) {
+                bufferPool.release(readBuffer);
+                bufferPool.release(writeBuffer);
+                readBuffer = null;
+                writeBuffer = null;
+            }
+            outbound.close();
+            metrics.connectionClosed();
+            room.leave(this);
+        }
+    }
+}
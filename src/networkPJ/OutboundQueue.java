@@ -0,0 +1,184 @@
+package networkPJ;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ 연결 하나의 크기 제한 송신 큐
+ 방 실행기는 메시지를 넣기만 하고 실제 전송은 연결의 전송 담당(쓰기 스레드 또는 I/O 스레드)이 처리
+ 큐가 밀려 있을 때 새 TURN_UPDATE/SCORE_UPDATE는 큐 끝쪽에 연속으로 쌓인 같은 종류의 메시지를 대체
+ (차례와 좌석별 점수는 마지막 값만 의미가 있으므로 밀린 클라이언트에게 중간 값을 보내지 않음)
+ 가상 스레드가 대기 중 캐리어 스레드를 점유하지 않도록 synchronized 대신 ReentrantLock 사용
+ offerDeferred로 넣은 메시지는 wakeUp()을 부를 때까지 기다리는 쓰기 스레드를 깨우지 않아 한 번에 전송됨
+*/
+final class OutboundQueue {
+    private final GameMessage[] items; // 원형 버퍼
+    private final OutboundStats stats;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int head;
+    private int size;
+    private boolean closed;
+
+    OutboundQueue(int capacity, OutboundStats stats) {
+        this.items = new GameMessage[capacity];
+        this.stats = stats;
+    }
+
+    // 메시지 추가 (큐가 가득 차 넣지 못하면 false, 닫힌 큐는 무시)
+    boolean offer(GameMessage message) {
+        return offer(message, true);
+    }
+
+    // 기다리는 쓰기 스레드를 깨우지 않고 메시지 추가 (wakeUp()으로 깨움)
+    boolean offerDeferred(GameMessage message) {
+        return offer(message, false);
+    }
+
+    private boolean offer(GameMessage message, boolean signal) {
+        lock.lock();
+        try {
+            if (closed) {
+                return true;
+            }
+            if (coalesce(message)) {
+                stats.coalesced();
+                return true;
+            }
+            if (size == items.length) {
+                stats.overflowed();
+                return false;
+            }
+            items[(head + size) % items.length] = message;
+            size++;
+            stats.added(size);
+            if (signal) {
+                notEmpty.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     큐 끝에서부터 연속된 TURN_UPDATE/SCORE_UPDATE 구간을 거슬러 올라가며
+     같은 대상의 메시지를 찾으면 새 메시지로 교체
+    */
+    private boolean coalesce(GameMessage message) {
+        if (!isCoalescible(message)) {
+            return false;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            int index = (head + i) % items.length;
+            GameMessage queued = items[index];
+            if (!isCoalescible(queued)) {
+                return false;
+            }
+            if (supersedes(message, queued)) {
+                items[index] = message;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCoalescible(GameMessage message) {
+        return message.getType() == GameMessage.TURN_UPDATE || message.getType() == GameMessage.SCORE_UPDATE;
+    }
+
+    // newer가 older를 대신할 수 있는지 (차례는 항상, 점수는 같은 좌석의 같은 플레이어일 때)
+    private static boolean supersedes(GameMessage newer, GameMessage older) {
+        if (newer.getType() != older.getType()) {
+            return false;
+        }
+        if (newer.getType() == GameMessage.TURN_UPDATE) {
+            return true;
+        }
+        return equals(newer.getPosition(), older.getPosition()) && equals(newer.getClientId(), older.getClientId());
+    }
+
+    private static boolean equals(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // 메시지 하나를 꺼냄 (비었으면 null)
+    GameMessage poll() {
+        lock.lock();
+        try {
+            return removeFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 메시지가 올 때까지 기다렸다가 꺼냄 (큐가 닫히고 비었으면 null)
+    GameMessage take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (size == 0 && !closed) {
+                notEmpty.await();
+            }
+            return removeFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private GameMessage removeFirst() {
+        if (size == 0) {
+            return null;
+        }
+        GameMessage message = items[head];
+        items[head] = null;
+        head = (head + 1) % items.length;
+        size--;
+        stats.removed(1);
+        return message;
+    }
+
+    // 쌓인 메시지가 있으면 기다리는 쓰기 스레드를 깨움
+    void wakeUp() {
+        lock.lock();
+        try {
+            if (size > 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 현재 큐 길이
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // 큐를 닫고 남은 메시지를 버림 (기다리는 쓰기 스레드를 깨움)
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stats.removed(size);
+            for (int i = 0; i < size; i++) {
+                items[(head + i) % items.length] = null;
+            }
+            size = 0;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package networkPJ;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ 한 서버의 모든 연결 송신 큐를 합친 지표
+ 여러 방 실행기가 동시에 갱신하므로 경쟁이 적은 LongAdder 사용
+*/
+final class OutboundStats {
+    private final LongAdder queued = new LongAdder();     // 현재 모든 큐에 쌓인 메시지 수
+    private final LongAdder coalesced = new LongAdder();  // 합쳐져 전송하지 않은 메시지 수
+    private final LongAdder overflows = new LongAdder();  // 큐가 가득 차 끊은 연결 수
+    private final AtomicInteger maxDepth = new AtomicInteger(); // 연결 하나의 최대 큐 길이
+
+    void added(int depth) {
+        queued.increment();
+        if (depth > maxDepth.get()) {
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    void removed(int count) {
+        queued.add(-count);
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    void overflowed() {
+        overflows.increment();
+    }
+
+    long queuedMessages() {
+        return queued.sum();
+    }
+
+    long coalescedMessages() {
+        return coalesced.sum();
+    }
+
+    long overflowedConnections() {
+        return overflows.sum();
+    }
+
+    int maxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public String toString() {
+        return "송신 대기 " + queuedMessages() + "개, 최대 큐 길이 " + maxDepth()
+                + ", 합쳐진 메시지 " + coalescedMessages() + "개, 큐 초과로 끊은 연결 " + overflowedConnections() + "개";
+    }
+}
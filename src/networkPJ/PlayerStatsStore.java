@@ -0,0 +1,671 @@
+package networkPJ;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/*
+ 플레이어 이름별 누적 전적 저장소 (판 수, 승리 수, 맞는 종, 틀린 종, 최고 점수)
+ 서버를 다시 시작해도 남도록 폴더 하나에 데이터 파일과 이름 색인 파일을 둠
+
+ 게임방(loop)은 기록할 내용을 큐에 넣기만 하고, 기록 스레드 하나가 flushMillis마다 큐를 비워
+ 같은 플레이어의 기록을 합친 뒤 파일에 반영하고 한 번만 동기화 (게임 진행 중에는 디스크를 건드리지 않음)
+ 로그인 때의 조회는 최근 조회/갱신한 플레이어를 담는 LRU 캐시에서 먼저 찾고, 없을 때만 색인과 데이터 파일을 읽음
+ (게임방은 lookupAsync로 조회하여 파일 읽기는 조회 스레드가 맡고, 네트워크 스레드는 기록 스레드의 잠금을 기다리지 않음)
+ (기록 스레드가 아직 반영하지 않은 최대 flushMillis 동안의 기록은 조회에 보이지 않음)
+
+ 데이터 파일 players.dat (빅 엔디언)
+   헤더 32바이트: 매직 "HGP1", 버전 u16, 헤더 크기 u16, 레코드 크기 u16
+   레코드 96바이트 (플레이어 순서대로 뒤에 추가, 레코드 번호 = 위치): 이름 길이 u8, UTF-8 이름 63바이트,
+         판 수 i32, 승리 수 i32, 맞는 종 i32, 틀린 종 i32, 최고 점수 i32, 예약 12바이트
+   레코드 수는 파일 크기로 정함 (추가하다 잘린 레코드는 열 때 잘라 냄)
+ 색인 파일 players.idx (빅 엔디언)
+   헤더 32바이트: 매직 "HGI1", 버전 u16, 헤더 크기 u16, 슬롯 수 i32 (2의 거듭제곱), 레코드 수 i32
+   슬롯 8바이트: 이름 해시 i32, 레코드 번호 + 1 i32 (0이면 빈 슬롯), 선형 탐사, 절반이 차면 두 배로 새로 만듦
+ 색인은 데이터 파일에서 언제든 다시 만들 수 있으므로, 열 때 레코드 수가 데이터 파일과 다르면(기록 도중 종료) 다시 만듦
+*/
+final class PlayerStatsStore {
+    // 저장소를 쓰지 않을 때 쓰는 빈 저장소 (기록 무시, 조회는 항상 null)
+    static final PlayerStatsStore DISABLED = new PlayerStatsStore();
+
+    static final String DATA_FILE = "players.dat";
+    static final String INDEX_FILE = "players.idx";
+    static final int DATA_MAGIC = 0x48475031;  // "HGP1"
+    static final int INDEX_MAGIC = 0x48474931; // "HGI1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 96;
+    static final int MAX_NAME_BYTES = 63;     // 이보다 긴 이름은 기록하지 않음
+    static final int SLOT_SIZE = 8;
+    private static final int STATS_OFFSET = 1 + MAX_NAME_BYTES; // 레코드 안 전적 위치
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int PROBE_SLOTS = 8;        // 색인을 한 번에 읽는 슬롯 수
+    private static final int MAX_PENDING = 1 << 20;  // 반영을 기다리는 기록 수 상한 (넘으면 버림)
+    private static final int MAX_BATCH = 1 << 16;    // 한 번에 반영하는 기록 수 (넘으면 나누어 동기화)
+
+    // 플레이어 한 명의 누적 전적
+    static final class Stats {
+        static final Stats EMPTY = new Stats(0, 0, 0, 0, 0);
+
+        final int gamesPlayed;
+        final int wins;
+        final int correctRings;
+        final int wrongRings;
+        final int bestScore;
+
+        Stats(int gamesPlayed, int wins, int correctRings, int wrongRings, int bestScore) {
+            this.gamesPlayed = gamesPlayed;
+            this.wins = wins;
+            this.correctRings = correctRings;
+            this.wrongRings = wrongRings;
+            this.bestScore = bestScore;
+        }
+
+        Stats plus(Update update) {
+            return new Stats(gamesPlayed + update.gamesPlayed, wins + update.wins, correctRings + update.correctRings,
+                    wrongRings + update.wrongRings, Math.max(bestScore, update.bestScore));
+        }
+
+        @Override
+        public String toString() {
+            return gamesPlayed + "판 " + wins + "승, 맞는 종 " + correctRings + ", 틀린 종 " + wrongRings + ", 최고 점수 " + bestScore;
+        }
+    }
+
+    // 반영을 기다리는 기록 (기록 스레드가 같은 플레이어의 기록을 합침)
+    private static final class Update {
+        final String name;
+        int gamesPlayed;
+        int wins;
+        int correctRings;
+        int wrongRings;
+        int bestScore;
+
+        Update(String name, int gamesPlayed, int wins, int correctRings, int wrongRings, int bestScore) {
+            this.name = name;
+            this.gamesPlayed = gamesPlayed;
+            this.wins = wins;
+            this.correctRings = correctRings;
+            this.wrongRings = wrongRings;
+            this.bestScore = bestScore;
+        }
+
+        void add(Update other) {
+            gamesPlayed += other.gamesPlayed;
+            wins += other.wins;
+            correctRings += other.correctRings;
+            wrongRings += other.wrongRings;
+            bestScore = Math.max(bestScore, other.bestScore);
+        }
+    }
+
+    private final Path dir;
+    private final long flushMillis;
+    private final ServerLog log;
+    private final Thread writer;
+    private final ExecutorService reader; // 캐시에 없는 lookupAsync 조회를 파일에서 읽는 스레드
+    private volatile boolean running = true;
+    private volatile boolean failed;
+
+    // 파일 상태 (조회는 disk 잠금 안에서만 읽고, index, capacity, count는 기록 스레드만 disk 잠금 안에서 바꿈)
+    private final Object disk = new Object();
+    private final FileChannel data;
+    private FileChannel index;
+    private int capacity;               // 색인 슬롯 수
+    private volatile int count;         // 레코드 수
+    private final ByteBuffer slots = ByteBuffer.allocate(PROBE_SLOTS * SLOT_SIZE);
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE); // 마지막으로 읽은 레코드
+
+    // 최근 조회/갱신한 플레이어 (접근 순서, cache 잠금 안에서만 사용, 잠금 순서는 disk → cache)
+    private final Map<String, Stats> cache;
+
+    // 게임방 → 기록 스레드
+    private final ConcurrentLinkedQueue<Update> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // 지표
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();  // 파일에 반영한 레코드 수 (합친 뒤)
+    private final AtomicLong batches = new AtomicLong();
+
+    private PlayerStatsStore() {
+        this.dir = null;
+        this.flushMillis = 0;
+        this.log = null;
+        this.writer = null;
+        this.reader = null;
+        this.data = null;
+        this.cache = null;
+    }
+
+    private PlayerStatsStore(Path dir, FileChannel data, int cacheSize, long flushMillis, ServerLog log) {
+        this.dir = dir;
+        this.data = data;
+        this.flushMillis = flushMillis;
+        this.log = log;
+        this.cache = new LinkedHashMap<String, Stats>(Math.min(cacheSize, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stats> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.writer = new Thread(this::writeLoop, "player-stats");
+        this.writer.setDaemon(true);
+        this.reader = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "player-stats-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 폴더의 저장소를 열고(없으면 만듦) 기록 스레드 시작
+    static PlayerStatsStore open(Path dir, int cacheSize, long flushMillis, ServerLog log) throws IOException {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("전적 캐시 크기는 1 이상이어야 합니다: " + cacheSize);
+        }
+        if (flushMillis <= 0) {
+            throw new IllegalArgumentException("전적 기록 간격은 1ms 이상이어야 합니다: " + flushMillis);
+        }
+        Files.createDirectories(dir);
+        FileChannel data = FileChannel.open(dir.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PlayerStatsStore store = new PlayerStatsStore(dir, data, cacheSize, flushMillis, log);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.closeFiles();
+            throw e;
+        }
+        store.writer.start();
+        return store;
+    }
+
+    // 데이터 파일 헤더 확인 (새 파일이면 씀) 후 색인을 열거나 다시 만듦
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long size = data.size();
+        if (size == 0) {
+            header.putInt(0, DATA_MAGIC);
+            header.putShort(4, (short) VERSION);
+            header.putShort(6, (short) HEADER_SIZE);
+            header.putShort(8, (short) RECORD_SIZE);
+            writeFully(data, header, 0);
+            size = HEADER_SIZE;
+        } else {
+            readFully(data, header, 0);
+            if (header.getInt(0) != DATA_MAGIC || header.getShort(4) != VERSION
+                    || header.getShort(6) != HEADER_SIZE || header.getShort(8) != RECORD_SIZE) {
+                throw new IOException("전적 데이터 파일 형식이 다릅니다: " + dir.resolve(DATA_FILE));
+            }
+        }
+        long records = (size - HEADER_SIZE) / RECORD_SIZE;
+        if (records > Integer.MAX_VALUE / 2) {
+            throw new IOException("전적 레코드가 너무 많습니다: " + records);
+        }
+        if (HEADER_SIZE + records * RECORD_SIZE != size) {
+            data.truncate(HEADER_SIZE + records * RECORD_SIZE); // 추가하다 잘린 레코드
+        }
+        count = (int) records;
+
+        Path indexPath = dir.resolve(INDEX_FILE);
+        if (Files.exists(indexPath)) {
+            index = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            header.clear();
+            readFully(index, header, 0);
+            int indexCapacity = header.getInt(8);
+            if (header.getInt(0) == INDEX_MAGIC && header.getShort(4) == VERSION && header.getShort(6) == HEADER_SIZE
+                    && Integer.bitCount(indexCapacity) == 1 && header.getInt(12) == count
+                    && index.size() == HEADER_SIZE + (long) indexCapacity * SLOT_SIZE) {
+                capacity = indexCapacity;
+                return;
+            }
+        }
+        long start = System.nanoTime();
+        rebuildIndex();
+        if (count > 0) {
+            print("색인을 데이터 파일에서 다시 만들었습니다. (플레이어 " + count + "명, "
+                    + (System.nanoTime() - start) / 1_000_000 + "ms)");
+        }
+    }
+
+    // 데이터 파일의 모든 레코드를 읽어 색인을 새로 만듦
+    private void rebuildIndex() throws IOException {
+        int newCapacity = INITIAL_CAPACITY;
+        while (newCapacity / 2 < count + 1) {
+            newCapacity *= 2;
+        }
+        ByteBuffer table = ByteBuffer.allocate(newCapacity * SLOT_SIZE);
+        ByteBuffer chunk = ByteBuffer.allocate(RECORD_SIZE * 4096);
+        for (int first = 0; first < count; first += 4096) {
+            int n = Math.min(4096, count - first);
+            chunk.clear();
+            chunk.limit(n * RECORD_SIZE);
+            readFully(data, chunk, HEADER_SIZE + (long) first * RECORD_SIZE);
+            for (int i = 0; i < n; i++) {
+                int at = i * RECORD_SIZE;
+                place(table, newCapacity, hash(chunk.array(), at + 1, chunk.get(at) & 0xFF), first + i + 1);
+            }
+        }
+        replaceIndex(table, newCapacity);
+    }
+
+    /*
+     색인이 절반 넘게 차기 전에 슬롯 수를 두 배로 늘림 (기록 스레드에서만 호출)
+     기존 슬롯의 해시로 다시 배치하므로 데이터 파일은 읽지 않고, 색인을 바꾸는 것은 기록 스레드뿐이라
+     새 색인은 잠금 없이 만들고 파일을 바꿀 때만 조회를 막음
+    */
+    private void grow() throws IOException {
+        ByteBuffer old = ByteBuffer.allocate(capacity * SLOT_SIZE);
+        readFully(index, old, HEADER_SIZE);
+        int newCapacity = capacity * 2;
+        ByteBuffer table = ByteBuffer.allocate(newCapacity * SLOT_SIZE);
+        for (int slot = 0; slot < capacity; slot++) {
+            int recordPlusOne = old.getInt(slot * SLOT_SIZE + 4);
+            if (recordPlusOne != 0) {
+                place(table, newCapacity, old.getInt(slot * SLOT_SIZE), recordPlusOne);
+            }
+        }
+        replaceIndex(table, newCapacity);
+    }
+
+    private static void place(ByteBuffer table, int capacity, int hash, int recordPlusOne) {
+        int slot = hash & (capacity - 1);
+        while (table.getInt(slot * SLOT_SIZE + 4) != 0) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        table.putInt(slot * SLOT_SIZE, hash);
+        table.putInt(slot * SLOT_SIZE + 4, recordPlusOne);
+    }
+
+    // 새 색인을 임시 파일에 다 쓰고 동기화한 뒤 기존 색인과 바꿈 (도중에 죽어도 기존 색인이나 새 색인 중 하나가 남음)
+    private void replaceIndex(ByteBuffer table, int newCapacity) throws IOException {
+        Path path = dir.resolve(INDEX_FILE);
+        Path temp = dir.resolve(INDEX_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(0, INDEX_MAGIC);
+            header.putShort(4, (short) VERSION);
+            header.putShort(6, (short) HEADER_SIZE);
+            header.putInt(8, newCapacity);
+            header.putInt(12, count);
+            writeFully(channel, header, 0);
+            table.clear();
+            writeFully(channel, table, HEADER_SIZE);
+            channel.force(true);
+        }
+        synchronized (disk) {
+            if (index != null) {
+                index.close(); // 열린 파일은 바꿀 수 없는 운영체제(Windows)가 있어 먼저 닫음
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            capacity = newCapacity;
+        }
+    }
+
+    // 게임방(loop)에서 호출: 맞는 종 (score는 종을 친 뒤의 점수)
+    void ringAwarded(String name, int score) {
+        enqueue(name, 0, 0, 1, 0, score);
+    }
+
+    // 게임방(loop)에서 호출: 틀린 종
+    void ringPenalized(String name, int score) {
+        enqueue(name, 0, 0, 0, 1, score);
+    }
+
+    // 게임방(loop)에서 호출: 승자가 나온 게임에 앉아 있던 플레이어
+    void gamePlayed(String name, boolean won, int score) {
+        enqueue(name, 1, won ? 1 : 0, 0, 0, score);
+    }
+
+    private void enqueue(String name, int games, int wins, int correct, int wrong, int score) {
+        if (data == null || failed || name == null) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > MAX_PENDING) { // 디스크가 따라오지 못하면 게임 쪽 메모리를 지키도록 버림
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.add(new Update(name, games, wins, correct, wrong, score));
+    }
+
+    // 반영을 기다리는 기록 수
+    int pendingCount() {
+        return pendingCount.get();
+    }
+
+    /*
+     플레이어의 누적 전적 조회 (아무 스레드에서나 호출, 기록이 없으면 Stats.EMPTY)
+     캐시에 있으면 잠금 하나로 바로 반환하고, 없으면 색인과 데이터 파일을 읽어 캐시에 넣음
+     저장소를 쓰지 않거나 기록할 수 없는 이름이거나 파일을 읽지 못하면 null
+    */
+    Stats lookup(String name) {
+        if (data == null || name == null) {
+            return null;
+        }
+        lookups.increment();
+        Stats stats = cached(name);
+        return stats != null ? stats : read(name);
+    }
+
+    /*
+     디스크를 기다리지 않는 조회 (네트워크 스레드용, 결과는 lookup과 같음)
+     캐시에 있거나 저장소를 쓰지 않으면 호출한 스레드에서 바로 callback을 부르고,
+     아니면 조회 스레드가 파일을 읽은 뒤 그 스레드에서 부름 (닫는 중이면 null)
+    */
+    void lookupAsync(String name, Consumer<Stats> callback) {
+        if (data == null || name == null) {
+            callback.accept(null);
+            return;
+        }
+        lookups.increment();
+        Stats stats = cached(name);
+        if (stats != null) {
+            callback.accept(stats);
+            return;
+        }
+        try {
+            reader.execute(() -> callback.accept(read(name)));
+        } catch (RejectedExecutionException e) {
+            callback.accept(null);
+        }
+    }
+
+    // 캐시에 있는 전적 (없으면 null)
+    private Stats cached(String name) {
+        Stats stats;
+        synchronized (cache) {
+            stats = cache.get(name);
+        }
+        if (stats != null) {
+            cacheHits.increment();
+        }
+        return stats;
+    }
+
+    // 색인과 데이터 파일에서 전적을 읽어 캐시에 넣음
+    private Stats read(String name) {
+        Stats stats;
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            return null;
+        }
+        synchronized (disk) {
+            try {
+                stats = find(bytes, hash(bytes, 0, bytes.length)) >= 0 ? readStats() : Stats.EMPTY;
+            } catch (IOException e) {
+                print("전적을 읽지 못했습니다: " + e);
+                return null;
+            }
+            synchronized (cache) {
+                cache.put(name, stats);
+            }
+        }
+        return stats;
+    }
+
+    // 기록 스레드: flushMillis마다 쌓인 기록을 반영
+    private void writeLoop() {
+        while (running) {
+            LockSupport.parkNanos(flushMillis * 1_000_000L); // 파일 I/O 중에 인터럽트되면 채널이 닫히므로 park로 대기
+            while (writeBatch()) {
+                // 밀린 기록은 MAX_BATCH씩 나누어 반영
+            }
+        }
+    }
+
+    /*
+     쌓인 기록을 최대 MAX_BATCH개 꺼내 플레이어별로 합쳐 파일에 반영하고 한 번만 동기화
+     기록이 더 남았을 수 있으면 true (close와 기록 스레드가 동시에 부르지 않도록 직렬화)
+    */
+    private synchronized boolean writeBatch() {
+        Map<String, Update> batch = new LinkedHashMap<>();
+        Update update;
+        int taken = 0;
+        while (taken < MAX_BATCH && (update = pending.poll()) != null) {
+            taken++;
+            pendingCount.decrementAndGet();
+            Update merged = batch.putIfAbsent(update.name, update);
+            if (merged != null) {
+                merged.add(update);
+            }
+        }
+        if (batch.isEmpty() || failed) {
+            return false;
+        }
+        try {
+            int before = count;
+            for (Update merged : batch.values()) {
+                apply(merged);
+            }
+            synchronized (disk) {
+                if (count != before) {
+                    ByteBuffer header = ByteBuffer.allocate(4);
+                    header.putInt(0, count);
+                    writeFully(index, header, 12);
+                }
+            }
+            data.force(false);
+            index.force(false);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (IOException e) {
+            failed = true;
+            print("전적 파일에 쓸 수 없어 기록을 중단합니다: " + e);
+            return false;
+        }
+        return taken == MAX_BATCH;
+    }
+
+    // 플레이어 한 명의 기록 반영 (처음 보는 플레이어면 레코드를 추가하고 색인에 넣음)
+    private void apply(Update update) throws IOException {
+        byte[] bytes = update.name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            return;
+        }
+        int hash = hash(bytes, 0, bytes.length);
+        if ((count + 1) * 2L > capacity) {
+            grow(); // 처음 보는 플레이어일 수 있으면 미리 (잠금 밖에서 새 색인을 만듦)
+        }
+        synchronized (disk) {
+            int recordNo = find(bytes, hash);
+            Stats stats;
+            if (recordNo >= 0) {
+                stats = readStats().plus(update);
+            } else {
+                recordNo = count;
+                stats = Stats.EMPTY.plus(update);
+                record.clear();
+                Arrays.fill(record.array(), (byte) 0);
+                record.put(0, (byte) bytes.length);
+                System.arraycopy(bytes, 0, record.array(), 1, bytes.length);
+            }
+            record.putInt(STATS_OFFSET, stats.gamesPlayed);
+            record.putInt(STATS_OFFSET + 4, stats.wins);
+            record.putInt(STATS_OFFSET + 8, stats.correctRings);
+            record.putInt(STATS_OFFSET + 12, stats.wrongRings);
+            record.putInt(STATS_OFFSET + 16, stats.bestScore);
+            record.clear();
+            writeFully(data, record, HEADER_SIZE + (long) recordNo * RECORD_SIZE);
+            if (recordNo == count) {
+                insert(hash, recordNo);
+                count++;
+            }
+            synchronized (cache) {
+                cache.put(update.name, stats);
+            }
+        }
+    }
+
+    /*
+     색인에서 이름의 레코드 번호를 찾음 (없으면 -1, disk 잠금 안에서 호출)
+     슬롯을 PROBE_SLOTS개씩 읽고, 해시가 같은 슬롯은 레코드의 이름을 비교 (찾으면 그 레코드가 record에 남음)
+    */
+    private int find(byte[] name, int hash) throws IOException {
+        int slot = hash & (capacity - 1);
+        for (int probed = 0; probed < capacity; ) {
+            int n = readSlots(slot);
+            for (int i = 0; i < n; i++) {
+                int recordPlusOne = slots.getInt(i * SLOT_SIZE + 4);
+                if (recordPlusOne == 0) {
+                    return -1;
+                }
+                if (slots.getInt(i * SLOT_SIZE) == hash && nameEquals(recordPlusOne - 1, name)) {
+                    return recordPlusOne - 1;
+                }
+            }
+            probed += n;
+            slot = (slot + n) & (capacity - 1);
+        }
+        return -1;
+    }
+
+    // 해시 위치부터 처음 만나는 빈 슬롯에 레코드 번호를 씀
+    private void insert(int hash, int recordNo) throws IOException {
+        int slot = hash & (capacity - 1);
+        while (true) {
+            int n = readSlots(slot);
+            for (int i = 0; i < n; i++) {
+                if (slots.getInt(i * SLOT_SIZE + 4) == 0) {
+                    ByteBuffer entry = ByteBuffer.allocate(SLOT_SIZE);
+                    entry.putInt(0, hash);
+                    entry.putInt(4, recordNo + 1);
+                    writeFully(index, entry, HEADER_SIZE + (long) (slot + i) * SLOT_SIZE);
+                    return;
+                }
+            }
+            slot = (slot + n) & (capacity - 1);
+        }
+    }
+
+    // slot부터 최대 PROBE_SLOTS개(색인 끝까지)의 슬롯을 slots에 읽고 읽은 수 반환
+    private int readSlots(int slot) throws IOException {
+        int n = Math.min(PROBE_SLOTS, capacity - slot);
+        slots.clear();
+        slots.limit(n * SLOT_SIZE);
+        readFully(index, slots, HEADER_SIZE + (long) slot * SLOT_SIZE);
+        return n;
+    }
+
+    // 레코드를 record에 읽어 이름 비교
+    private boolean nameEquals(int recordNo, byte[] name) throws IOException {
+        record.clear();
+        readFully(data, record, HEADER_SIZE + (long) recordNo * RECORD_SIZE);
+        if ((record.get(0) & 0xFF) != name.length) {
+            return false;
+        }
+        return Arrays.equals(record.array(), 1, 1 + name.length, name, 0, name.length);
+    }
+
+    // record에 읽어 둔 레코드의 전적
+    private Stats readStats() {
+        return new Stats(record.getInt(STATS_OFFSET), record.getInt(STATS_OFFSET + 4), record.getInt(STATS_OFFSET + 8),
+                record.getInt(STATS_OFFSET + 12), record.getInt(STATS_OFFSET + 16));
+    }
+
+    // UTF-8 이름 바이트의 해시 (색인을 다시 만들 때 문자열로 바꾸지 않도록 바이트로 계산)
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new EOFException("전적 파일이 예상보다 짧습니다.");
+            }
+            position += n;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // 기록 스레드를 멈추고 남은 기록을 반영한 뒤 파일을 닫음 (방 실행기가 멈춘 뒤 호출)
+    void close() {
+        if (data == null || !running) {
+            return;
+        }
+        running = false;
+        reader.shutdown();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (writeBatch()) {
+            // 남은 기록을 모두 반영
+        }
+        try {
+            reader.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeFiles();
+    }
+
+    private void closeFiles() {
+        synchronized (disk) {
+            try {
+                data.close();
+                if (index != null) {
+                    index.close();
+                }
+            } catch (IOException e) {
+                print("전적 파일을 닫지 못했습니다: " + e);
+            }
+        }
+    }
+
+    Path getDirectory() {
+        return dir;
+    }
+
+    private void print(String msg) {
+        log.print("[전적] " + msg);
+    }
+
+    @Override
+    public String toString() {
+        long total = lookups.sum();
+        return "전적 " + dir + " (플레이어 " + count + "명, 조회 " + total + "회 중 캐시 적중 "
+                + (total > 0 ? cacheHits.sum() * 100 / total : 0) + "%, 반영 " + written.get() + "건/"
+                + batches.get() + "회, 대기 " + pendingCount.get() + "건, 버림 " + dropped.sum() + "건)";
+    }
+}
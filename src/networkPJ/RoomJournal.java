@@ -0,0 +1,282 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ 게임방 하나의 저널 (형식은 GameJournal 참고)
+ 기록은 방 실행기(loop)에서만 쓰므로 쓰기 쪽은 잠금 없이 매핑된 버퍼에 복사만 함
+ 세그먼트 파일은 동기화 스레드가 미리 만들어 매핑해 둠 (방이 생길 때 첫 세그먼트, 쓰는 세그먼트가 반을 넘으면 다음 세그먼트)
+ loop는 세그먼트가 차면 준비된 것으로 바꾸기만 하고, 아직 준비되지 않았을 때만 직접 만듦
+ 다 쓴 세그먼트는 동기화 스레드가 마지막으로 동기화한 뒤 매핑을 풀고 쓴 길이로 파일을 줄여 닫으며,
+ 방이 닫힐 때 쓰지 않은 미리 만든 세그먼트는 지움 (방이 일찍 닫혀도 세그먼트 크기만큼의 파일이 남지 않음)
+ 파일을 만들거나 매핑하지 못하면(열린 매핑 수 한도 포함) 로그를 남기고 이 방의 저널만 끔 (게임은 계속 진행)
+*/
+final class RoomJournal {
+    // 저널을 쓰지 않을 때 쓰는 빈 저널 (모든 기록 무시)
+    static final RoomJournal DISABLED = new RoomJournal(null, 0, 0);
+
+    private final GameJournal journal;
+    private final int roomId;
+    private final long seed;
+
+    // 쓰기 쪽 상태 (loop에서만 씀, failed는 동기화 스레드도 읽음)
+    private Segment current;
+    private volatile boolean failed;
+
+    // 동기화 스레드와 주고받는 상태
+    private volatile Segment published;       // 현재 쓰는 세그먼트
+    private volatile boolean closed;
+    private final ConcurrentLinkedQueue<Segment> retired = new ConcurrentLinkedQueue<>(); // 다 쓴 세그먼트
+    private final AtomicReference<Segment> spare = new AtomicReference<>(); // 미리 만든 다음 세그먼트
+    private int segmentIndex; // 다음에 만들 세그먼트 번호 (create에서만 사용)
+
+    // 매핑된 세그먼트 파일 하나
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        volatile int position;  // 쓴 위치 (기록을 다 쓴 뒤 갱신)
+        int synced;             // 동기화한 위치 (동기화 스레드에서만 사용)
+        boolean keepMapped;     // 서버 종료 때 loop가 아직 쓸 수 있어 매핑을 풀지 않음 (abandon)
+
+        Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int position) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.position = position;
+        }
+    }
+
+    RoomJournal(GameJournal journal, int roomId, long seed) {
+        this.journal = journal;
+        this.roomId = roomId;
+        this.seed = seed;
+        this.failed = journal == null;
+    }
+
+    // 입장 기록
+    void join(int seat, long round, String clientId) {
+        if (failed) {
+            return;
+        }
+        byte[] name = clientId != null ? clientId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int nameLength = Math.min(name.length, GameJournal.MAX_NAME_BYTES);
+        MappedByteBuffer buffer = reserve(GameJournal.RECORD_SIZE + 2 + nameLength);
+        if (buffer == null) {
+            return;
+        }
+        int start = current.position;
+        int at = putFields(buffer, start, GameJournal.JOIN, seat, round, 0, 0);
+        buffer.putShort(at, (short) nameLength);
+        for (int i = 0; i < nameLength; i++) {
+            buffer.put(at + 2 + i, name[i]);
+        }
+        commit(buffer, start, GameJournal.RECORD_SIZE + 2 + nameLength);
+    }
+
+    // 이름 없는 기록 (종류는 GameJournal 상수)
+    void record(int type, int seat, long round, int value, int detail) {
+        if (failed) {
+            return;
+        }
+        MappedByteBuffer buffer = reserve(GameJournal.RECORD_SIZE);
+        if (buffer == null) {
+            return;
+        }
+        int start = current.position;
+        putFields(buffer, start, type, seat, round, value, detail);
+        commit(buffer, start, GameJournal.RECORD_SIZE);
+    }
+
+    // 길이를 뺀 고정 필드를 쓰고 다음 위치 반환
+    private static int putFields(MappedByteBuffer buffer, int at, int type, int seat, long round, int value, int detail) {
+        buffer.put(at + 2, (byte) type);
+        buffer.put(at + 3, (byte) (seat >= 0 ? seat : GameJournal.NO_SEAT));
+        buffer.putLong(at + 4, System.currentTimeMillis());
+        buffer.putLong(at + 12, round);
+        buffer.putInt(at + 20, value);
+        buffer.putInt(at + 24, detail);
+        return at + GameJournal.RECORD_SIZE;
+    }
+
+    // 길이를 마지막에 써서 기록을 완성하고 쓴 위치 발행
+    private void commit(MappedByteBuffer buffer, int start, int length) {
+        buffer.putShort(start, (short) length);
+        current.position = start + length;
+        journal.recorded();
+    }
+
+    // 기록이 들어갈 세그먼트 준비 (뒤에 데이터 끝 표시 2바이트가 남도록, 실패하면 null)
+    private MappedByteBuffer reserve(int length) {
+        if (current != null && current.position + length + 2 <= current.buffer.capacity()) {
+            return current.buffer;
+        }
+        try {
+            roll();
+            return current.buffer;
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            journal.print("방 " + roomId + "의 저널을 쓸 수 없어 기록을 중단합니다: " + e);
+            return null;
+        }
+    }
+
+    // 현재 세그먼트를 동기화 스레드에 넘기고 미리 만든 다음 세그먼트로 바꿈 (준비되지 않았으면 직접 만듦)
+    private void roll() throws IOException {
+        Segment next = spare.getAndSet(null);
+        if (next == null) {
+            next = create();
+            journal.createdOnLoop();
+        }
+        Segment previous = current;
+        current = next;
+        published = next;
+        if (previous != null) {
+            retired.add(previous);
+        }
+        journal.segmentStarted();
+    }
+
+    // 다음 세그먼트 파일을 만들어 매핑하고 헤더를 씀 (동기화 스레드, 준비가 늦었을 때만 loop)
+    private synchronized Segment create() throws IOException {
+        if (!journal.acquireMapping()) {
+            throw new IOException("열린 저널 매핑이 한도(" + journal.getMaxMappings() + "개)에 도달했습니다");
+        }
+        Path path = journal.segmentPath(roomId, segmentIndex);
+        FileChannel channel = null;
+        MappedByteBuffer buffer;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, journal.getSegmentSize());
+        } catch (IOException | RuntimeException e) {
+            journal.releaseMapping(null);
+            if (channel != null) {
+                channel.close();
+            }
+            throw e;
+        }
+        buffer.putInt(0, GameJournal.MAGIC);
+        buffer.putShort(4, (short) GameJournal.VERSION);
+        buffer.putShort(6, (short) GameJournal.HEADER_SIZE);
+        buffer.putInt(8, roomId);
+        buffer.putInt(12, segmentIndex);
+        buffer.putLong(16, seed);
+        buffer.putLong(24, System.currentTimeMillis());
+        segmentIndex++;
+        return new Segment(path, channel, buffer, GameJournal.HEADER_SIZE);
+    }
+
+    // 방이 닫힐 때 loop에서 호출 (이후 기록은 무시, 남은 기록은 동기화 스레드가 동기화한 뒤 파일을 닫음)
+    void close() {
+        if (closed || journal == null) {
+            return;
+        }
+        failed = true;
+        if (current != null) {
+            retired.add(current);
+            current = null;
+        }
+        closed = true;
+    }
+
+    /*
+     서버 종료 때 loop가 닫지 못한 방을 저널이 닫음
+     방 실행기가 아직 쓰고 있을 수 있으므로 현재 세그먼트는 동기화만 하고 매핑과 파일 크기는 그대로 둠 (프로세스 종료 때 풀림)
+    */
+    void abandon() {
+        if (closed || journal == null) {
+            return;
+        }
+        failed = true;
+        Segment last = published;
+        if (last != null) {
+            last.keepMapped = true;
+            retired.add(last);
+        }
+        closed = true;
+    }
+
+    /*
+     동기화 스레드에서 호출: 다 쓴 세그먼트와 현재 세그먼트의 새 기록을 디스크에 동기화하고
+     필요하면 다음 세그먼트를 미리 만듦, 방이 닫혀 더 동기화할 것이 없으면 true
+    */
+    synchronized boolean sync() {
+        boolean done = closed;
+        Segment segment;
+        while ((segment = retired.poll()) != null) {
+            force(segment);
+            if (!segment.keepMapped) {
+                release(segment);
+            }
+        }
+        if (done) {
+            discardSpare();
+            return true;
+        }
+        segment = published;
+        if (segment != null) {
+            force(segment);
+        }
+        prepareSpare(segment);
+        return false;
+    }
+
+    // 첫 세그먼트, 또는 쓰는 세그먼트가 반을 넘었으면 다음 세그먼트를 미리 만들어 둠 (저널이 멈춘 방은 제외)
+    private void prepareSpare(Segment segment) {
+        if (failed || spare.get() != null || (segment != null && segment.position < journal.getSegmentSize() / 2)) {
+            return;
+        }
+        try {
+            spare.set(create());
+        } catch (IOException | RuntimeException e) {
+            // 다음 동기화 때 다시 시도하고, 끝내 준비되지 않으면 loop가 직접 만들다 실패를 기록함
+        }
+    }
+
+    // 다 쓴 세그먼트의 매핑을 풀고 쓴 길이로 파일을 줄여 닫음
+    private void release(Segment segment) {
+        journal.releaseMapping(segment.buffer);
+        try {
+            segment.channel.truncate(segment.position);
+        } catch (IOException e) {
+            // 매핑을 풀지 못해 파일을 줄일 수 없는 운영체제(Windows)에서는 세그먼트 크기 그대로 둠
+        }
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            journal.print("방 " + roomId + "의 저널 파일을 닫지 못했습니다: " + e);
+        }
+    }
+
+    // 방이 닫힐 때 쓰지 않은 미리 만든 세그먼트를 지움
+    private void discardSpare() {
+        Segment unused = spare.getAndSet(null);
+        if (unused == null) {
+            return;
+        }
+        journal.releaseMapping(unused.buffer);
+        try {
+            unused.channel.close();
+            Files.deleteIfExists(unused.path);
+        } catch (IOException e) {
+            journal.print("방 " + roomId + "의 쓰지 않은 저널 파일을 지우지 못했습니다: " + e);
+        }
+    }
+
+    private void force(Segment segment) {
+        int position = segment.position;
+        if (position != segment.synced) {
+            segment.buffer.force();
+            segment.synced = position;
+            journal.forced();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package networkPJ;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ 공유 스레드 풀 위에서 작업을 제출 순서대로 하나씩 실행하는 직렬 실행기
+ 한 번에 한 스레드만 작업을 실행하므로 작업들이 다루는 상태는 잠금 없이 사용 가능
+ 큐를 비우는 스레드는 바뀔 수 있지만 scheduled 플래그가 앞뒤 실행 사이의 메모리 가시성을 보장
+*/
+final class SerialExecutor implements Executor {
+    // 한 번 실행될 때 처리할 최대 작업 수 (바쁜 방 하나가 풀 스레드를 독점하지 않도록)
+    private static final int BATCH_SIZE = 64;
+
+    private final Executor pool;
+    private final ServerLog log;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    SerialExecutor(Executor pool, ServerLog log) {
+        this.pool = pool;
+        this.log = log;
+    }
+
+    // 작업 제출 (어느 스레드에서나 호출 가능)
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer(task);
+        schedule();
+    }
+
+    // 실행 중이 아니면 풀에 큐 비우기를 맡김 (서버 종료로 풀이 닫힌 뒤의 작업은 버림)
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                pool.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                tasks.clear();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            for (int i = 0; i < BATCH_SIZE && (task = tasks.poll()) != null; i++) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.print("명령 처리 오류: " + e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // 남은 작업이 있거나 플래그를 내리는 사이 들어온 작업이 있으면 다시 예약
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package networkPJ;
+
+// 서버 로그 출력 대상 (GUI 화면, 표준 출력 등)
+interface ServerLog {
+    void print(String msg);
+}
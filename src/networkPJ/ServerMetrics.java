@@ -0,0 +1,229 @@
+package networkPJ;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/*
+ 서버 지표 모음
+ 메시지 종류별 수신/송신 수, 종류별 처리 시간, 브로드캐스트 시간, 송수신 바이트, 연결 수, 종치기 결과를 기록하고
+ Prometheus 텍스트 형식으로 출력
+ 모든 기록은 LongAdder와 LatencyHistogram에 더하기만 하므로 운영 중에도 켜 둘 수 있음
+ (게임방의 처리 시간은 표본만 기록하므로 히스토그램의 _count는 메시지 수가 아님, 메시지 수는 *_total 사용)
+*/
+final class ServerMetrics {
+    // GameMessage 타입 번호별 이름 (0번은 알 수 없는 타입)
+    private static final String[] TYPE_NAMES = typeNames();
+
+    // 종치기 결과
+    static final int BELL_AWARD = 0;     // 라운드 승자 (+1)
+    static final int BELL_PENALTY = 1;   // 잘못된 종치기 (-1)
+    static final int BELL_TOO_LATE = 2;  // 다른 플레이어가 먼저 침
+    private static final String[] BELL_OUTCOMES = {"award", "penalty", "too_late"};
+
+    private final LongAdder[] received = newAdders(TYPE_NAMES.length);
+    private final LongAdder[] sent = newAdders(TYPE_NAMES.length);
+    private final LatencyHistogram[] handling = new LatencyHistogram[TYPE_NAMES.length];
+    private final LatencyHistogram broadcast = new LatencyHistogram();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder socketWrites = new LongAdder();      // 소켓 쓰기(시스템 콜) 수
+    private final LongAdder connections = new LongAdder();       // 현재 연결 수
+    private final LongAdder connectionsTotal = new LongAdder();  // 누적 연결 수
+    private final LongAdder[] bellOutcomes = newAdders(BELL_OUTCOMES.length);
+
+    // 다른 구성 요소가 가진 값 (없으면 0)
+    private volatile IntSupplier rooms = () -> 0;
+    private volatile OutboundStats outbound;
+
+    ServerMetrics() {
+        for (int i = 0; i < handling.length; i++) {
+            handling[i] = new LatencyHistogram();
+        }
+    }
+
+    /*
+     GameMessage의 public static final int 상수로 타입 이름 표를 만듦
+     (메시지 타입을 추가하면 따로 고치지 않아도 지표에 이름이 생기고, 번호가 겹치면 시작할 때 실패)
+    */
+    private static String[] typeNames() {
+        String[] names = new String[1];
+        for (Field field : GameMessage.class.getFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers) || field.getType() != int.class) {
+                continue;
+            }
+            int type;
+            try {
+                type = field.getInt(null);
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+            if (type <= 0) {
+                throw new IllegalStateException("메시지 타입 번호는 1 이상이어야 합니다: " + field.getName());
+            }
+            if (type >= names.length) {
+                names = Arrays.copyOf(names, type + 1);
+            }
+            if (names[type] != null) {
+                throw new IllegalStateException("메시지 타입 번호가 겹칩니다: " + names[type] + ", " + field.getName());
+            }
+            names[type] = field.getName();
+        }
+        names[0] = "UNKNOWN";
+        for (int i = 1; i < names.length; i++) {
+            if (names[i] == null) {
+                names[i] = "TYPE_" + i; // 쓰지 않는 번호 (라벨이 겹치지 않도록)
+            }
+        }
+        return names;
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static int typeIndex(int type) {
+        return type > 0 && type < TYPE_NAMES.length ? type : 0;
+    }
+
+    void messageReceived(int type) {
+        received[typeIndex(type)].increment();
+    }
+
+    void messageSent(int type) {
+        sent[typeIndex(type)].increment();
+    }
+
+    void bytesReceived(int bytes) {
+        bytesIn.add(bytes);
+    }
+
+    void bytesSent(int bytes) {
+        bytesOut.add(bytes);
+    }
+
+    void socketWrite() {
+        socketWrites.increment();
+    }
+
+    void handled(int type, long nanos) {
+        handling[typeIndex(type)].record(nanos);
+    }
+
+    void broadcast(long nanos) {
+        broadcast.record(nanos);
+    }
+
+    void connectionOpened() {
+        connections.increment();
+        connectionsTotal.increment();
+    }
+
+    void connectionClosed() {
+        connections.decrement();
+    }
+
+    void bellRung(int outcome) {
+        bellOutcomes[outcome].increment();
+    }
+
+    void setRoomCount(IntSupplier rooms) {
+        this.rooms = rooms;
+    }
+
+    void setOutboundStats(OutboundStats outbound) {
+        this.outbound = outbound;
+    }
+
+    // Prometheus 텍스트 형식 (version 0.0.4)
+    String scrape() {
+        StringBuilder sb = new StringBuilder(8192);
+        header(sb, "halligalli_messages_received_total", "counter", "클라이언트에게서 받은 메시지 수");
+        for (int t = 0; t < TYPE_NAMES.length; t++) {
+            sample(sb, "halligalli_messages_received_total", "type", TYPE_NAMES[t], received[t].sum());
+        }
+        header(sb, "halligalli_messages_sent_total", "counter", "클라이언트에게 보낸 메시지 수");
+        for (int t = 0; t < TYPE_NAMES.length; t++) {
+            sample(sb, "halligalli_messages_sent_total", "type", TYPE_NAMES[t], sent[t].sum());
+        }
+        header(sb, "halligalli_message_handling_seconds", "histogram", "게임방에서 메시지 하나를 처리한 시간 (방 실행기 메시지는 표본)");
+        for (int t = 0; t < TYPE_NAMES.length; t++) {
+            histogram(sb, "halligalli_message_handling_seconds", "type=\"" + TYPE_NAMES[t] + "\"", handling[t]);
+        }
+        header(sb, "halligalli_broadcast_seconds", "histogram", "방 안의 모든 연결에 메시지 하나를 넣는 데 걸린 시간 (표본)");
+        histogram(sb, "halligalli_broadcast_seconds", null, broadcast);
+
+        header(sb, "halligalli_received_bytes_total", "counter", "받은 바이트 수");
+        sample(sb, "halligalli_received_bytes_total", null, null, bytesIn.sum());
+        header(sb, "halligalli_sent_bytes_total", "counter", "보낸 바이트 수");
+        sample(sb, "halligalli_sent_bytes_total", null, null, bytesOut.sum());
+
+        header(sb, "halligalli_socket_writes_total", "counter", "소켓 쓰기 호출 수");
+        sample(sb, "halligalli_socket_writes_total", null, null, socketWrites.sum());
+
+        header(sb, "halligalli_connections", "gauge", "현재 연결 수");
+        sample(sb, "halligalli_connections", null, null, connections.sum());
+        header(sb, "halligalli_connections_total", "counter", "누적 연결 수");
+        sample(sb, "halligalli_connections_total", null, null, connectionsTotal.sum());
+        header(sb, "halligalli_rooms", "gauge", "현재 게임방 수");
+        sample(sb, "halligalli_rooms", null, null, rooms.getAsInt());
+
+        header(sb, "halligalli_bell_rings_total", "counter", "종치기 결과별 수");
+        for (int o = 0; o < BELL_OUTCOMES.length; o++) {
+            sample(sb, "halligalli_bell_rings_total", "outcome", BELL_OUTCOMES[o], bellOutcomes[o].sum());
+        }
+
+        OutboundStats stats = outbound;
+        if (stats != null) {
+            header(sb, "halligalli_outbound_queued_messages", "gauge", "모든 송신 큐에 쌓인 메시지 수");
+            sample(sb, "halligalli_outbound_queued_messages", null, null, stats.queuedMessages());
+            header(sb, "halligalli_outbound_max_depth", "gauge", "연결 하나의 최대 송신 큐 길이");
+            sample(sb, "halligalli_outbound_max_depth", null, null, stats.maxDepth());
+            header(sb, "halligalli_outbound_coalesced_total", "counter", "합쳐져 보내지 않은 메시지 수");
+            sample(sb, "halligalli_outbound_coalesced_total", null, null, stats.coalescedMessages());
+            header(sb, "halligalli_outbound_overflows_total", "counter", "송신 큐가 넘쳐 끊은 연결 수");
+            sample(sb, "halligalli_outbound_overflows_total", null, null, stats.overflowedConnections());
+        }
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String label, String value, long count) {
+        sb.append(name);
+        if (label != null) {
+            sb.append('{').append(label).append("=\"").append(value).append("\"}");
+        }
+        sb.append(' ').append(count).append('\n');
+    }
+
+    // 누적 구간(_bucket), 합계(_sum), 개수(_count) 출력
+    private static void histogram(StringBuilder sb, String name, String labels, LatencyHistogram histogram) {
+        long[] counts = histogram.snapshot();
+        String prefix = labels != null ? labels + "," : "";
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            cumulative += counts[i];
+            sb.append(name).append("_bucket{").append(prefix).append("le=\"")
+                    .append(String.format(Locale.ROOT, "%.6f", LatencyHistogram.upperBoundSeconds(i))).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += counts[LatencyHistogram.BUCKETS];
+        sb.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+        String suffix = labels != null ? "{" + labels + "}" : "";
+        sb.append(name).append("_sum").append(suffix).append(' ')
+                .append(String.format(Locale.ROOT, "%.9f", histogram.sumNanos() / 1e9)).append('\n');
+        sb.append(name).append("_count").append(suffix).append(' ').append(cumulative).append('\n');
+    }
+}
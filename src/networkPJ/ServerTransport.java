@@ -0,0 +1,21 @@
+package networkPJ;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+// 클라이언트 연결을 받아 게임방에 전달하는 서버 네트워크 계층
+interface ServerTransport {
+    // 주소에서 수신 대기 시작 (수신 스레드를 만들고 즉시 반환)
+    void start(InetSocketAddress address) throws IOException;
+
+    // 모든 인터페이스의 포트에서 수신 대기 시작
+    default void start(int port) throws IOException {
+        start(new InetSocketAddress(port));
+    }
+
+    // 모든 연결의 송신 큐 지표
+    OutboundStats outboundStats();
+
+    // 수신 대기와 모든 연결 종료
+    void stop();
+}
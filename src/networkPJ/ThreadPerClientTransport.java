@@ -0,0 +1,231 @@
+package networkPJ;
+
+import java.io.*;
+import java.net.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ 연결마다 스레드 하나가 블로킹 소켓을 읽는 기본 네트워크 방식
+ 보내는 메시지는 연결별 송신 큐에 넣고 연결마다 있는 쓰기 스레드가 전송하므로
+ 소켓 하나가 막혀도 방 실행기와 다른 클라이언트의 브로드캐스트는 멈추지 않음
+ virtualThreads가 true이면 수신 루프와 연결별 읽기/쓰기를 Java 21 가상 스레드에서 실행
+*/
+final class ThreadPerClientTransport implements ServerTransport {
+    // 접속이 몰릴 때 SYN이 버려지지 않도록 넉넉한 accept 대기열
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    // 연결별 송신 큐 크기 (넘치면 너무 느린 클라이언트로 보고 연결 종료)
+    private static final int OUTBOUND_CAPACITY = 1024;
+
+    private final GameLobby lobby;
+    private final ServerLog log;
+    private final boolean virtualThreads;
+    private final OutboundStats outboundStats = new OutboundStats();
+    private final ServerMetrics metrics;
+
+    private ServerSocket serverSocket;
+    private volatile boolean isServerRunning = false;
+
+    ThreadPerClientTransport(GameLobby lobby, ServerLog log, boolean virtualThreads) {
+        this.lobby = lobby;
+        this.log = log;
+        this.virtualThreads = virtualThreads;
+        this.metrics = lobby.metrics();
+        metrics.setOutboundStats(outboundStats);
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            log.print("이 JVM은 가상 스레드를 지원하지 않아 플랫폼 스레드를 사용합니다. (Java 21 이상 필요)");
+        }
+    }
+
+    @Override
+    public void start(InetSocketAddress address) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(address, ACCEPT_BACKLOG);
+        isServerRunning = true;
+
+        Thread serverThread = VirtualThreads.newThread(virtualThreads, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (isServerRunning) {
+                        Socket clientSocket = serverSocket.accept();
+                        String clientAddress = clientSocket.getInetAddress().getHostAddress();
+
+                        ClientHandler handler = new ClientHandler(clientSocket);
+                        metrics.connectionOpened(); // 거부된 연결은 closeConnection에서 다시 빠짐
+                        GameRoom room = lobby.assign(handler);
+
+                        if (room != null) {
+                            log.print("클라이언트가 연결되었습니다: " + clientAddress + " (방 " + room.getRoomId() + ")");
+                            VirtualThreads.newThread(virtualThreads, handler, "client-" + clientAddress).start();
+                            VirtualThreads.newThread(virtualThreads, handler.writer, "client-writer-" + clientAddress).start();
+                        } else {
+                            log.print("방 수 제한에 걸려 클라이언트 연결을 거부합니다: " + clientAddress);
+                            handler.closeConnection();
+                        }
+                    }
+                } catch (IOException e) {
+                    if (isServerRunning) {
+                        log.print("서버 오류: " + e.getMessage());
+                    }
+                }
+            }
+        }, "accept");
+        serverThread.start();
+    }
+
+    @Override
+    public OutboundStats outboundStats() {
+        return outboundStats;
+    }
+
+    @Override
+    public void stop() {
+        isServerRunning = false;
+        try {
+            if (serverSocket != null && !serverSocket.isClosed()) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            log.print("서버 종료 오류: " + e.getMessage());
+        }
+    }
+
+    // 클라이언트 핸들러 내부 클래스
+    private class ClientHandler implements Runnable, GameConnection {
+        private final OutboundQueue outbound = new OutboundQueue(OUTBOUND_CAPACITY, outboundStats);
+        private final Runnable writer = this::writeLoop;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private Socket socket;
+        private DataOutputStream out;
+        private DataInputStream in;
+        private volatile GameRoom room; // 배정된 게임방 (좌석을 잡기 전에 로비가 정함, 재접속하면 좌석을 되찾은 방으로 바뀜)
+
+        // 클라이언트 핸들러 생성자
+        public ClientHandler(Socket socket) {
+            this.socket = socket;
+            try {
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                in = new DataInputStream(new BufferedInputStream(new CountingInputStream(socket.getInputStream())));
+            } catch (IOException e) {
+                log.print("스트림 생성 오류: " + e.getMessage());
+            }
+        }
+
+        // 클라이언트 스레드 실행
+        public void run() {
+            try {
+                while (isServerRunning) {
+                    GameMessage message = GameProtocol.readMessage(in);
+                    room = room.process(this, message); // 재접속하면 좌석을 되찾은 방으로 바뀜
+                }
+            } catch (SocketException e) {
+                // 소켓 연결 종료 시 특별한 로그 없이 종료 처리
+            } catch (Exception e) {
+                if (e.getMessage() != null) {
+                    log.print("클라이언트 통신 오류: " + e.getMessage());
+                }
+            } finally {
+                // 로그아웃 없이 끊긴 경우에도 좌석 반환
+                room.leave(this);
+                closeConnection();
+            }
+        }
+
+        @Override
+        public void assigned(GameRoom room) {
+            this.room = room;
+        }
+
+        // 메시지 전송 (송신 큐에 넣기만 하고 바로 반환)
+        public void sendMessage(GameMessage message) {
+            if (!outbound.offer(message)) {
+                overflowed();
+            }
+        }
+
+        // flush()까지 쓰기 스레드를 깨우지 않고 송신 큐에 추가
+        @Override
+        public void queueMessage(GameMessage message) {
+            if (!outbound.offerDeferred(message)) {
+                overflowed();
+            }
+        }
+
+        @Override
+        public void flush() {
+            outbound.wakeUp();
+        }
+
+        private void overflowed() {
+            log.print("송신 큐가 가득 차 느린 클라이언트의 연결을 종료합니다: " + socket.getInetAddress().getHostAddress());
+            closeConnection();
+        }
+
+        // 쓰기 스레드: 큐에 쌓인 메시지를 모두 쓴 뒤 한 번만 flush
+        private void writeLoop() {
+            try {
+                GameMessage message;
+                while ((message = outbound.take()) != null) {
+                    do {
+                        byte[] frame = GameProtocol.encode(message);
+                        out.write(frame);
+                        metrics.messageSent(message.getType());
+                        metrics.bytesSent(frame.length);
+                    } while ((message = outbound.poll()) != null);
+                    out.flush();
+                    metrics.socketWrite();
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.print("메시지 전송 오류: " + e.getMessage());
+                }
+                closeConnection();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /*
+         연결 종료 (쓰기 스레드도 함께 종료)
+         막힌 소켓에 남은 버퍼를 flush하다 멈추지 않도록 스트림 대신 소켓을 바로 닫음
+         (소켓을 닫으면 스트림도 닫히고 읽기/쓰기 중인 스레드는 SocketException으로 빠져나옴)
+        */
+        public void closeConnection() {
+            if (closed.compareAndSet(false, true)) {
+                metrics.connectionClosed();
+            }
+            outbound.close();
+            try {
+                if (socket != null) socket.close();
+            } catch (IOException e) {
+                log.print("연결 종료 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    // 소켓에서 실제로 읽은 바이트 수를 지표에 더하는 스트림 (버퍼 아래에 두어 읽기 호출마다 한 번만 기록)
+    private final class CountingInputStream extends FilterInputStream {
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                metrics.bytesReceived(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                metrics.bytesReceived(n);
+            }
+            return n;
+        }
+    }
+}
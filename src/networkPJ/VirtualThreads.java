@@ -0,0 +1,46 @@
+package networkPJ;
+
+import java.util.concurrent.ThreadFactory;
+
+/*
+ Java 21 가상 스레드 생성 도우미
+ 소스는 JDK 11에서도 컴파일되도록 Thread.ofVirtual()을 리플렉션으로 호출하고
+ 실행 중인 JVM이 가상 스레드를 지원하지 않으면 플랫폼 스레드로 대체
+*/
+final class VirtualThreads {
+    // 가상 스레드 팩토리 (지원하지 않는 JVM이면 null)
+    private static final ThreadFactory FACTORY = lookupFactory();
+
+    private VirtualThreads() {
+    }
+
+    private static ThreadFactory lookupFactory() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // 실행 중인 JVM의 가상 스레드 지원 여부
+    static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    // 클라이언트 측 사용 여부 (-Dvirtual.threads=true 이고 JVM이 지원할 때)
+    static boolean isEnabled() {
+        return isSupported() && Boolean.getBoolean("virtual.threads");
+    }
+
+    /*
+     스레드 생성 (시작하지 않음)
+     virtual이 true이고 지원되면 가상 스레드, 아니면 플랫폼 스레드
+    */
+    static Thread newThread(boolean virtual, Runnable task, String name) {
+        Thread thread = virtual && FACTORY != null ? FACTORY.newThread(task) : new Thread(task);
+        thread.setName(name);
+        return thread;
+    }
+}